@@ -0,0 +1,102 @@
+package com.ines.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ines.mapper.AlertNotificationEncoder;
+import com.ines.model.Alert;
+import com.ines.model.Customer;
+import com.ines.model.Gender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of delivering one alert to N recipients: converting the entity for
+ * every destination versus encoding the compact notification once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlertFanoutBenchmark {
+
+    private static final String QUEUE = "/queue/nearby-alerts";
+
+    @Param({"10", "100", "1000"})
+    int recipients;
+
+    private String[] usernames;
+    private Alert alert;
+    private SimpMessagingTemplate template;
+    private AlertNotificationEncoder encoder;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        usernames = IntStream.range(0, recipients)
+                .mapToObj(i -> "user" + i + "@example.com")
+                .toArray(String[]::new);
+
+        Customer owner = new Customer(1, "Alex", "alex@example.com", "password", 25, Gender.MALE);
+        alert = Alert.builder()
+                .id(42L)
+                .title("Flooded underpass")
+                .description("Water above the kerb near the station entrance")
+                .type(Alert.AlertType.HAZARD)
+                .severity(Alert.Severity.HIGH)
+                .status(Alert.AlertStatus.ACTIVE)
+                .latitude(49.6117)
+                .longitude(6.1300)
+                .user(owner)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+
+        // Stands in for the broker channel so only conversion and header wrapping are measured
+        template = new SimpMessagingTemplate((message, timeout) -> {
+            this.blackhole.consume(message);
+            return true;
+        });
+        template.setMessageConverter(converter);
+        encoder = new AlertNotificationEncoder(objectMapper);
+    }
+
+    @Benchmark
+    public void convertPerRecipient() {
+        for (String username : usernames) {
+            template.convertAndSendToUser(username, QUEUE, alert);
+        }
+    }
+
+    @Benchmark
+    public void encodeOnceAndShare() {
+        Message<byte[]> payload = encoder.encode(alert);
+        for (String username : usernames) {
+            template.send(template.getUserDestinationPrefix() + username + QUEUE, payload);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ines.benchmark;
+
+import com.ines.geo.GeoDistance;
+import com.ines.geo.RadiusQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius filtering over a million positions around Luxembourg: haversine per
+ * candidate versus the bounding-box and chord pre-check of {@link RadiusQuery}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RadiusCheckBenchmark {
+
+    private static final double CENTRE_LATITUDE = 49.6117;
+    private static final double CENTRE_LONGITUDE = 6.1300;
+
+    @Param({"1000000"})
+    int points;
+
+    @Param({"5.0", "50.0"})
+    double radiusKm;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] unitX;
+    private double[] unitY;
+    private double[] unitZ;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[points];
+        longitudes = new double[points];
+        unitX = new double[points];
+        unitY = new double[points];
+        unitZ = new double[points];
+        for (int i = 0; i < points; i++) {
+            // Roughly +/- 110 km around the centre
+            latitudes[i] = CENTRE_LATITUDE + (random.nextDouble() - 0.5) * 2;
+            longitudes[i] = CENTRE_LONGITUDE + (random.nextDouble() - 0.5) * 3;
+            unitX[i] = RadiusQuery.unitX(latitudes[i], longitudes[i]);
+            unitY[i] = RadiusQuery.unitY(latitudes[i], longitudes[i]);
+            unitZ[i] = RadiusQuery.unitZ(latitudes[i]);
+        }
+    }
+
+    @Benchmark
+    public int haversine() {
+        double radiusMeters = radiusKm * 1000;
+        int matches = 0;
+        for (int i = 0; i < points; i++) {
+            if (GeoDistance.haversineMeters(latitudes[i], longitudes[i], CENTRE_LATITUDE, CENTRE_LONGITUDE) <= radiusMeters) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int radiusQuery() {
+        RadiusQuery query = new RadiusQuery(CENTRE_LATITUDE, CENTRE_LONGITUDE, radiusKm);
+        int matches = 0;
+        for (int i = 0; i < points; i++) {
+            if (query.contains(latitudes[i], longitudes[i], unitX[i], unitY[i], unitZ[i])) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
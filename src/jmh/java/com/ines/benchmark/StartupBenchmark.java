@@ -0,0 +1,88 @@
+package com.ines.benchmark;
+
+import com.ines.Main;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the whole application against a migrated PostGIS database, with Hibernate
+ * validating the Flyway schema versus introspecting and updating it. Each fork measures a
+ * single start so class loading and JIT warm-up are part of the result, as in production.
+ * Needs Docker for the database container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"validate", "update"})
+    String ddlAuto;
+
+    private PostgreSQLContainer<?> postgis;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        postgis = new PostgreSQLContainer<>(
+                DockerImageName.parse("postgis/postgis:15-3.3-alpine")
+                        .asCompatibleSubstituteFor("postgres")
+        );
+        postgis.start();
+        // Migrated up front so the measured start only pays for checking the schema
+        Flyway.configure()
+                .dataSource(postgis.getJdbcUrl(), postgis.getUsername(), postgis.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(Main.class)
+                .properties(
+                        "spring.datasource.url=" + postgis.getJdbcUrl(),
+                        "spring.datasource.username=" + postgis.getUsername(),
+                        "spring.datasource.password=" + postgis.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        return context;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        postgis.stop();
+    }
+}
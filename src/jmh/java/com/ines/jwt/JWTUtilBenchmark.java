@@ -0,0 +1,59 @@
+package com.ines.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation per authenticated request: a token whose claims are already
+ * cached versus a stream of distinct tokens that each need signature verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTUtilBenchmark {
+
+    private static final int DISTINCT_TOKENS = 1000;
+
+    private JWTUtil cachingJwtUtil;
+    private JWTUtil missingJwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JWTUtil(10_000, new SimpleMeterRegistry());
+        // A one-entry cache over a thousand rotating tokens misses on practically every call
+        missingJwtUtil = new JWTUtil(1, new SimpleMeterRegistry());
+        token = cachingJwtUtil.issueToken("user@example.com", "USER");
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = missingJwtUtil.issueToken("user" + i + "@example.com", "USER");
+        }
+    }
+
+    @Benchmark
+    public boolean isTokenValidCached() {
+        return cachingJwtUtil.isTokenValid(token, "user@example.com");
+    }
+
+    @Benchmark
+    public boolean isTokenValidUncached() {
+        next = (next + 1) % DISTINCT_TOKENS;
+        return missingJwtUtil.isTokenValid(tokens[next], "user" + next + "@example.com");
+    }
+}
@@ -0,0 +1,73 @@
+package com.ines.service;
+
+import com.ines.model.GeoLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby-user lookup as done once per alert fan-out, with users spread over
+ * roughly 220 x 220 km around Luxembourg City.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationTrackingServiceBenchmark {
+
+    private static final double CENTRE_LATITUDE = 49.6117;
+    private static final double CENTRE_LONGITUDE = 6.1300;
+
+    @Param({"1000", "10000", "100000"})
+    int users;
+
+    private LocationTrackingService locationTrackingService;
+    private int nextUser;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        locationTrackingService = new LocationTrackingService();
+        for (int i = 0; i < users; i++) {
+            locationTrackingService.updateUserLocation("user" + i, randomLocation());
+        }
+    }
+
+    @Benchmark
+    public Set<String> getNearbyUsers() {
+        return locationTrackingService.getNearbyUsers(CENTRE_LATITUDE, CENTRE_LONGITUDE, 5.0);
+    }
+
+    @Benchmark
+    public void updateUserLocation() {
+        nextUser = (nextUser + 1) % users;
+        locationTrackingService.updateUserLocation("user" + nextUser, randomLocation());
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        return locationTrackingService.calculateDistance(CENTRE_LATITUDE, CENTRE_LONGITUDE, 49.4977, 5.9800);
+    }
+
+    private GeoLocation randomLocation() {
+        return new GeoLocation(
+                CENTRE_LATITUDE + (random.nextDouble() - 0.5) * 2,
+                CENTRE_LONGITUDE + (random.nextDouble() - 0.5) * 3
+        );
+    }
+}
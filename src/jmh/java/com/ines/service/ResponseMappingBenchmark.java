@@ -0,0 +1,106 @@
+package com.ines.service;
+
+import com.ines.dto.AlertResponseDto;
+import com.ines.dto.AlertSummaryView;
+import com.ines.dto.CustomerDTO;
+import com.ines.mapper.CustomerDTOMapper;
+import com.ines.model.Alert;
+import com.ines.model.Customer;
+import com.ines.model.Gender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of building API responses: alert entities, alert projections
+ * and customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private CustomerDTOMapper customerDTOMapper;
+    private AlertService alertService;
+    private Customer customer;
+    private Alert alert;
+    private AlertSummaryView summary;
+
+    @Setup
+    public void setUp() {
+        customerDTOMapper = new CustomerDTOMapper();
+        // Only the mapper is used by the mapping methods
+        alertService = new AlertService(null, null, null, customerDTOMapper, null, null, null, null, null);
+
+        customer = Customer.builder()
+                .id(1)
+                .name("Alex")
+                .email("alex@example.com")
+                .password("password")
+                .age(25)
+                .gender(Gender.MALE)
+                .role(Customer.Role.USER)
+                .build();
+        alert = Alert.builder()
+                .id(42L)
+                .title("Flooded underpass")
+                .description("Water above the kerb near the station entrance")
+                .type(Alert.AlertType.HAZARD)
+                .severity(Alert.Severity.HIGH)
+                .status(Alert.AlertStatus.ACTIVE)
+                .latitude(49.6117)
+                .longitude(6.1300)
+                .user(customer)
+                .createdAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .build();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", alert.getId());
+        values.put("title", alert.getTitle());
+        values.put("description", alert.getDescription());
+        values.put("type", alert.getType());
+        values.put("severity", alert.getSeverity());
+        values.put("status", alert.getStatus());
+        values.put("latitude", alert.getLatitude());
+        values.put("longitude", alert.getLongitude());
+        values.put("createdAt", alert.getCreatedAt());
+        values.put("userId", customer.getId());
+        values.put("userName", customer.getName());
+        values.put("userEmail", customer.getEmail());
+        values.put("userGender", customer.getGender());
+        values.put("userAge", customer.getAge());
+        values.put("userRole", customer.getRole());
+        summary = new SpelAwareProxyProjectionFactory().createProjection(AlertSummaryView.class, values);
+    }
+
+    @Benchmark
+    public AlertResponseDto mapAlertEntity() {
+        return alertService.mapToResponseDto(alert);
+    }
+
+    @Benchmark
+    public AlertResponseDto mapAlertSummary() {
+        return alertService.mapToResponseDto(summary);
+    }
+
+    @Benchmark
+    public CustomerDTO mapCustomer() {
+        return customerDTOMapper.apply(customer);
+    }
+}
@@ -33,7 +33,11 @@ public class AuthenticationService {
         );
         Customer principal = (Customer) authentication.getPrincipal();
         CustomerDTO customerDTO = customerDTOMapper.apply(principal);
-        String token = jwtUtil.issueToken(customerDTO.username(), customerDTO.roles());
+        String token = jwtUtil.issueToken(
+                customerDTO.username(),
+                principal.getTokenVersion(),
+                customerDTO.roles()
+        );
         return new AuthenticationResponse(token, customerDTO);
     }
 
@@ -0,0 +1,62 @@
+package com.ines.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // Any executor bean switches off Boot's applicationTaskExecutor, and Spring MVC would then run
+    // StreamingResponseBody exports on a new thread per request. Each export holds a pooled
+    // connection and a cursor until it finishes, so the pool stays below the Hikari pool size.
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${web.async.pool-size:8}") int poolSize,
+            @Value("${web.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("web-async-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor alertDispatchExecutor(
+            @Value("${alerts.dispatch.pool-size:4}") int poolSize,
+            @Value("${alerts.dispatch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("alert-dispatch-");
+        // AlertDispatchListener coalesces triggers, so this only ever holds one queued drain;
+        // the caller-runs fallback is a backstop rather than the throttle it once was
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    // Bulk registrations hash here rather than on the common ForkJoinPool, so a large roster
+    // can only take a few cores away from request handling and other parallel work
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${customers.password-hashing.pool-size:2}") int poolSize,
+            @Value("${customers.password-hashing.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        // A full queue makes the registering request hash its own passwords
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ines.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class DataSourceProxyConfig {
+
+    @Bean
+    static StatementMetricsListener statementMetricsListener() {
+        return new StatementMetricsListener();
+    }
+
+    // Static, like any post-processor bean, so it is registered without initialising this configuration early
+    @Bean
+    static BeanPostProcessor dataSourceProxyPostProcessor(StatementMetricsListener statementMetricsListener,
+                                                          Environment environment) {
+        Duration slowQueryThreshold = environment.getProperty(
+                "jdbc.slow-query-threshold", Duration.class, Duration.ofMillis(500));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                // Only slow statements are logged; the rest show up in the jdbc.statements timers
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryLogListener(slowQueryThreshold))
+                        .listener(statementMetricsListener)
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.ines.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements that ran longer than the threshold with their SQL, elapsed time and
+ * batch size. Bound parameters are left out on purpose: they carry customer emails and
+ * password hashes.
+ */
+@Slf4j
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    private final long thresholdMillis;
+
+    public SlowQueryLogListener(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+        String sql = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        if (execInfo.isBatch()) {
+            log.warn("Slow JDBC batch of {} took {} ms: {}", execInfo.getBatchSize(), execInfo.getElapsedTime(), sql);
+        } else {
+            log.warn("Slow JDBC statement took {} ms: {}", execInfo.getElapsedTime(), sql);
+        }
+    }
+}
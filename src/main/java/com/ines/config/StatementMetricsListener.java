@@ -0,0 +1,48 @@
+package com.ines.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement by kind (select, insert, update, delete, other) and
+ * whether it ran as a batch. The data source is wrapped before any meter registry
+ * exists, so statements run until Micrometer binds this listener (Flyway, startup
+ * runners) go unrecorded.
+ */
+public class StatementMetricsListener implements QueryExecutionListener, MeterBinder {
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        Timer.builder("jdbc.statements")
+                .description("JDBC statement execution time")
+                .tag("type", QueryUtils.getQueryType(queryInfoList.get(0).getQuery()).name().toLowerCase(Locale.ROOT))
+                .tag("batch", String.valueOf(execInfo.isBatch()))
+                .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                .register(registry)
+                .record(execInfo.getElapsedTime(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,6 +1,9 @@
 package com.ines.config;
 
+import com.ines.jwt.JWTChannelInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,6 +13,27 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final JWTChannelInterceptor jwtChannelInterceptor;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+
+    public WebSocketConfig(JWTChannelInterceptor jwtChannelInterceptor,
+                           @Value("${websocket.broker.mode:simple}") String brokerMode,
+                           @Value("${websocket.broker.relay.host:localhost}") String relayHost,
+                           @Value("${websocket.broker.relay.port:61613}") int relayPort,
+                           @Value("${websocket.broker.relay.login:guest}") String relayLogin,
+                           @Value("${websocket.broker.relay.passcode:guest}") String relayPasscode) {
+        this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws-alerts")
@@ -18,7 +42,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // Every instance relays to the same external STOMP broker; user destinations that
+            // cannot be resolved locally are broadcast so the node holding the session delivers them
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtChannelInterceptor);
     }
-}
\ No newline at end of file
+}
@@ -1,24 +1,47 @@
 package com.ines.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.ines.dto.AlertDto;
+import com.ines.dto.AlertFilter;
+import com.ines.dto.AlertImportResult;
 import com.ines.dto.AlertResponseDto;
 import com.ines.dto.AlertStatusDto;
 import com.ines.dto.ApiResponse;
+import com.ines.dto.CursorPage;
+import com.ines.exception.RequestValidationException;
 import com.ines.service.AlertService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/alerts")
 @RequiredArgsConstructor
 public class AlertController {
+    // A JSON array is bound in full before the import starts; larger feeds belong in NDJSON
+    static final int MAX_JSON_IMPORT_SIZE = 1000;
+
     private final AlertService alertService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
         @PostMapping
         public ResponseEntity<ApiResponse<AlertResponseDto>> createAlert(
@@ -28,6 +51,95 @@ public class AlertController {
             return ResponseEntity.ok(ApiResponse.success(alert, "Alert created successfully."));
         }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<AlertImportResult>> importAlerts(
+            @RequestBody List<AlertDto> alerts,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        if (alerts.size() > MAX_JSON_IMPORT_SIZE) {
+            throw new RequestValidationException(
+                    "at most %s alerts can be imported as a JSON array; send larger feeds as %s"
+                            .formatted(MAX_JSON_IMPORT_SIZE, MediaType.APPLICATION_NDJSON_VALUE)
+            );
+        }
+        return importResponse(alertService.importAlerts(validating(alerts.iterator()), userDetails.getUsername()));
+    }
+
+    // One alert per line; the body is read as it arrives instead of being buffered into a list first
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<AlertImportResult>> importAlertStream(
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        try (MappingIterator<AlertDto> alerts = objectMapper.readerFor(AlertDto.class).readValues(body)) {
+            return importResponse(alertService.importAlerts(validating(parsing(alerts)), userDetails.getUsername()));
+        }
+    }
+
+    // A stopped import still reports what it committed, so the sender can resume after that many alerts
+    private static ResponseEntity<ApiResponse<AlertImportResult>> importResponse(AlertImportResult result) {
+        if (result.error() != null) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, result, "Import stopped after %d alerts; resend from alert %d."
+                            .formatted(result.imported(), result.imported() + 1)));
+        }
+        return ResponseEntity.ok(ApiResponse.success(result, "Alerts imported successfully."));
+    }
+
+    // Checks each alert as the import pulls it, so a bad entry stops the import with its position
+    private Iterator<AlertDto> validating(Iterator<AlertDto> alerts) {
+        return new Iterator<>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return alerts.hasNext();
+            }
+
+            @Override
+            public AlertDto next() {
+                AlertDto alert = alerts.next();
+                position++;
+                if (alert == null) {
+                    throw new RequestValidationException("Alert " + position + " is empty");
+                }
+                Set<ConstraintViolation<AlertDto>> violations = validator.validate(alert);
+                if (!violations.isEmpty()) {
+                    throw new RequestValidationException(
+                            "Alert " + position + ": " + violations.iterator().next().getMessage());
+                }
+                return alert;
+            }
+        };
+    }
+
+    private static Iterator<AlertDto> parsing(MappingIterator<AlertDto> lines) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return lines.hasNextValue();
+                } catch (IOException e) {
+                    throw malformed(e);
+                }
+            }
+
+            @Override
+            public AlertDto next() {
+                try {
+                    return lines.nextValue();
+                } catch (IOException e) {
+                    throw malformed(e);
+                }
+            }
+        };
+    }
+
+    private static RuntimeException malformed(IOException e) {
+        if (e instanceof JsonProcessingException json && json.getLocation() != null) {
+            return new RequestValidationException("Malformed alert on line " + json.getLocation().getLineNr());
+        }
+        return new UncheckedIOException(e);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AlertResponseDto>> getAlertById(@PathVariable Long id) {
         AlertResponseDto alert = alertService.getAlertById(id);
@@ -35,9 +147,35 @@ public class AlertController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<AlertResponseDto>>> getAllAlerts() {
-        List<AlertResponseDto> alerts = alertService.getAllAlerts();
-        return ResponseEntity.ok(ApiResponse.success(alerts, "All alerts retrieved successfully."));
+    public ResponseEntity<ApiResponse<CursorPage<AlertResponseDto>>> getAlerts(
+            AlertFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<AlertResponseDto> alerts = alertService.getAlerts(filter, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(alerts, "Alerts retrieved successfully."));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAlerts(AlertFilter filter) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                alertService.streamAlerts(filter, alert -> writeLine(writer, alert));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static void writeLine(SequenceWriter writer, AlertResponseDto alert) {
+        try {
+            writer.write(alert);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @PutMapping("/{id}")
@@ -58,11 +196,13 @@ public class AlertController {
     }
 
     @GetMapping("/nearby")
-    public ResponseEntity<ApiResponse<List<AlertResponseDto>>> getNearbyAlerts(
+    public ResponseEntity<ApiResponse<CursorPage<AlertResponseDto>>> getNearbyAlerts(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "10.0") Double radius) {
-        List<AlertResponseDto> alerts = alertService.getNearbyAlerts(latitude, longitude, radius);
+            @RequestParam(defaultValue = "10.0") Double radius,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<AlertResponseDto> alerts = alertService.getNearbyAlerts(latitude, longitude, radius, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(alerts, "Nearby alerts retrieved successfully."));
     }
 
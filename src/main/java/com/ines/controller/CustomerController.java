@@ -46,6 +46,13 @@ public class CustomerController {
                 .body(ApiResponse.success(null, "Customer registered successfully."));
     }
 
+    @PostMapping("batch")
+    public ResponseEntity<ApiResponse<Integer>> registerCustomers(
+            @RequestBody List<CustomerRegistrationRequest> requests) {
+        int registered = customerService.addCustomers(requests);
+        return ResponseEntity.ok(ApiResponse.success(registered, "Customers registered successfully."));
+    }
+
     @DeleteMapping("{customerId}")
     public ResponseEntity<ApiResponse<Void>> deleteCustomer(
             @PathVariable("customerId") Integer customerId) {
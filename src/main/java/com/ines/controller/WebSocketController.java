@@ -1,51 +1,156 @@
 package com.ines.controller;
 
-import com.ines.exception.ResourceNotFoundException;
+import com.ines.geo.GeoBoundingBox;
+import com.ines.geo.GeoHash;
+import com.ines.mapper.AlertNotificationEncoder;
 import com.ines.model.Alert;
-import com.ines.model.Customer;
 import com.ines.model.GeoLocation;
-import com.ines.repository.CustomerRepository;
-import com.ines.service.LocationTrackingService;
-import lombok.RequiredArgsConstructor;
+import com.ines.service.LocationIngestionService;
+import com.ines.service.LocationRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
 
+import java.security.Principal;
+import java.util.List;
 import java.util.Set;
 
+@Slf4j
 @Controller
-@RequiredArgsConstructor
 public class WebSocketController {
-    private final LocationTrackingService locationTrackingService;
+    static final String NEARBY_ALERTS_QUEUE = "/queue/nearby-alerts";
+    static final String AREA_TOPIC_PREFIX = "/topic/area/";
+    static final double NOTIFICATION_RADIUS_KM = 5.0;
+
+    /**
+     * Where alert notifications go: each nearby user's queue, the geohash area topics
+     * covering the notification radius, or both while clients migrate.
+     */
+    public enum FanoutMode {
+        USER, AREA, BOTH;
+
+        boolean toUsers() {
+            return this != AREA;
+        }
+
+        boolean toAreas() {
+            return this != USER;
+        }
+    }
+
+    private final LocationRegistry locationRegistry;
     private final SimpMessagingTemplate messagingTemplate;
-    private final CustomerRepository customerRepository;
+    private final LocationIngestionService locationIngestionService;
+    private final AlertNotificationEncoder alertNotificationEncoder;
+    private final FanoutMode fanoutMode;
+    private final int areaPrecision;
 
-    @MessageMapping("/location/{email}")
-    @SendTo("/topic/nearby-alerts")
-    public void processLocation(@DestinationVariable String email, GeoLocation location) {
-        Customer user = customerRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+    private final Timer nearbyQueryTimer;
+    private final DistributionSummary recipientsPerAlert;
+    private final DistributionSummary areasPerAlert;
+    private final Timer sendTimer;
+
+    public WebSocketController(LocationRegistry locationRegistry,
+                               SimpMessagingTemplate messagingTemplate,
+                               LocationIngestionService locationIngestionService,
+                               AlertNotificationEncoder alertNotificationEncoder,
+                               MeterRegistry meterRegistry,
+                               @Value("${websocket.fanout.mode:user}") FanoutMode fanoutMode,
+                               @Value("${websocket.fanout.area-precision:4}") int areaPrecision) {
+        if (areaPrecision < 1 || areaPrecision > GeoHash.MAX_PRECISION) {
+            throw new IllegalArgumentException("websocket.fanout.area-precision must be between 1 and " + GeoHash.MAX_PRECISION);
+        }
+        this.locationRegistry = locationRegistry;
+        this.messagingTemplate = messagingTemplate;
+        this.locationIngestionService = locationIngestionService;
+        this.alertNotificationEncoder = alertNotificationEncoder;
+        this.fanoutMode = fanoutMode;
+        this.areaPrecision = areaPrecision;
+        this.nearbyQueryTimer = Timer.builder("alerts.nearby.query")
+                .description("Time to find the users near a new alert")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.recipientsPerAlert = DistributionSummary.builder("alerts.fanout.recipients")
+                .description("Users notified about a single alert")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.areasPerAlert = DistributionSummary.builder("alerts.fanout.areas")
+                .description("Area topics an alert was published to")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("alerts.fanout.send")
+                .description("Time to hand one notification to the message broker")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-        locationTrackingService.updateUserLocation(email, location);
+    // The session principal was verified from the JWT on CONNECT, so no lookup is needed per ping
+    @MessageMapping("/location/{email}")
+    public void processLocation(@DestinationVariable String email, GeoLocation location, Principal principal) {
+        if (principal == null || !principal.getName().equals(email)) {
+            throw new AccessDeniedException("Cannot report the location of another user");
+        }
+        locationIngestionService.submit(email, location);
     }
 
 
     public void notifyNearbyUsers(Alert alert) {
-        Set<String> nearbyUsers = locationTrackingService.getNearbyUsers(
+        Message<byte[]> payload = null;
+        if (fanoutMode.toUsers()) {
+            payload = sendToNearbyUsers(alert);
+        }
+        if (fanoutMode.toAreas()) {
+            publishToAreas(alert, payload != null ? payload : alertNotificationEncoder.encode(alert));
+        }
+    }
+
+    // Returns the encoded payload, or null when nobody was close enough to need it
+    private Message<byte[]> sendToNearbyUsers(Alert alert) {
+        Set<String> nearbyUsers = nearbyQueryTimer.record(() -> locationRegistry.getNearbyUsers(
                 alert.getLatitude(),
                 alert.getLongitude(),
-                5.0
-        );
+                NOTIFICATION_RADIUS_KM
+        ));
+        recipientsPerAlert.record(nearbyUsers.size());
+        if (nearbyUsers.isEmpty()) {
+            return null;
+        }
+
+        // Serialised once; each send below only re-wraps the headers around the same payload
+        Message<byte[]> payload = alertNotificationEncoder.encode(alert);
         for (String username : nearbyUsers) {
-            org.slf4j.LoggerFactory.getLogger(WebSocketController.class).info("Notifying user: {}", username);
-            messagingTemplate.convertAndSend(
-                    "/topic/nearby-alerts/" + username,
-                    alert
-            );
+            log.debug("Notifying user: {}", username);
+            sendTimer.record(() -> messagingTemplate.send(userDestination(username), payload));
         }
 
-        org.slf4j.LoggerFactory.getLogger(WebSocketController.class).info("Notification sent to {} users", nearbyUsers.size());
+        log.debug("Notification sent to {} users", nearbyUsers.size());
+        return payload;
+    }
+
+    // One publish per covered cell however many clients listen; subscribers apply the exact radius themselves
+    private void publishToAreas(Alert alert, Message<byte[]> payload) {
+        List<String> areas = GeoHash.covering(
+                GeoBoundingBox.around(alert.getLatitude(), alert.getLongitude(), NOTIFICATION_RADIUS_KM),
+                areaPrecision
+        );
+        for (String area : areas) {
+            sendTimer.record(() -> messagingTemplate.send(AREA_TOPIC_PREFIX + area, payload));
+        }
+        areasPerAlert.record(areas.size());
+    }
+
+    // Same destination convertAndSendToUser would build; clients subscribe to /user/queue/nearby-alerts
+    private String userDestination(String username) {
+        return messagingTemplate.getUserDestinationPrefix()
+                + StringUtils.replace(username, "/", "%2F")
+                + NEARBY_ALERTS_QUEUE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.ines.dto;
+
+import com.ines.exception.RequestValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in an alert listing ordered by (createdAt DESC, id DESC),
+ * exchanged with clients as an opaque URL-safe token.
+ */
+public record AlertCursor(
+        LocalDateTime createdAt,
+        Long id
+) {
+
+    // Sorts after every stored alert; PostgreSQL cannot bind LocalDateTime.MAX
+    public static final AlertCursor FIRST = new AlertCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE
+    );
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AlertCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new AlertCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new RequestValidationException("invalid cursor [%s]".formatted(cursor));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ines.dto;
+
+import com.ines.model.Alert;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for alert listings; a null component matches every alert.
+ * {@code from} is inclusive and {@code to} exclusive on {@code createdAt}.
+ */
+public record AlertFilter(
+        Alert.AlertStatus status,
+        Alert.AlertType type,
+        Alert.Severity severity,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+) {
+
+    public static final AlertFilter NONE = new AlertFilter(null, null, null, null, null);
+}
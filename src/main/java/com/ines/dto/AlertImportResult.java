@@ -0,0 +1,13 @@
+package com.ines.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// error is set when the import stopped early; alerts counted in imported are committed either way,
+// and discarded counts the alerts read after them that were not saved, the rejected one included
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlertImportResult(
+        int imported,
+        Integer discarded,
+        String error
+) {
+}
@@ -0,0 +1,36 @@
+package com.ines.dto;
+
+import com.ines.model.Alert;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wire payload pushed to WebSocket subscribers: the alert's own columns only,
+ * without the owning customer.
+ */
+public record AlertNotification(
+        Long id,
+        String title,
+        String description,
+        Alert.AlertType type,
+        Alert.Severity severity,
+        Alert.AlertStatus status,
+        Double latitude,
+        Double longitude,
+        LocalDateTime createdAt
+) {
+
+    public static AlertNotification from(Alert alert) {
+        return new AlertNotification(
+                alert.getId(),
+                alert.getTitle(),
+                alert.getDescription(),
+                alert.getType(),
+                alert.getSeverity(),
+                alert.getStatus(),
+                alert.getLatitude(),
+                alert.getLongitude(),
+                alert.getCreatedAt()
+        );
+    }
+}
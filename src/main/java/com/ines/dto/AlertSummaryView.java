@@ -0,0 +1,47 @@
+package com.ines.dto;
+
+import com.ines.model.Alert;
+import com.ines.model.Customer;
+import com.ines.model.Gender;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an alert and the owner columns its response needs.
+ * Never includes the owner's password hash and never yields managed entities.
+ */
+public interface AlertSummaryView {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Alert.AlertType getType();
+
+    Alert.Severity getSeverity();
+
+    Alert.AlertStatus getStatus();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Integer getUserId();
+
+    String getUserName();
+
+    String getUserEmail();
+
+    Gender getUserGender();
+
+    Integer getUserAge();
+
+    Customer.Role getUserRole();
+
+    String getUserProfileImageId();
+}
@@ -0,0 +1,8 @@
+package com.ines.event;
+
+import com.ines.model.Alert;
+
+public record AlertCreatedEvent(
+        Alert alert
+) {
+}
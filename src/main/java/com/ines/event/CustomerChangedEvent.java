@@ -0,0 +1,7 @@
+package com.ines.event;
+
+public record CustomerChangedEvent(
+        Integer customerId,
+        String email
+) {
+}
@@ -0,0 +1,61 @@
+package com.ines.geo;
+
+/**
+ * Smallest latitude/longitude rectangle containing a search circle.
+ * Longitudes may fall outside [-180, 180] when the circle crosses the antimeridian;
+ * use {@link #normalized()} when the box is handed to SQL.
+ */
+public record GeoBoundingBox(
+        double minLatitude,
+        double maxLatitude,
+        double minLongitude,
+        double maxLongitude
+) {
+
+    public static GeoBoundingBox around(double latitude, double longitude, double radiusKm) {
+        double angularRadius = radiusKm / GeoDistance.EARTH_RADIUS_KM;
+        double latitudeDelta = Math.toDegrees(angularRadius);
+
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+
+        // A circle touching a pole covers every longitude
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            return new GeoBoundingBox(Math.max(minLatitude, -90), Math.min(maxLatitude, 90), -180, 180);
+        }
+
+        double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+        if (sinRatio >= 1) {
+            return new GeoBoundingBox(minLatitude, maxLatitude, -180, 180);
+        }
+        double longitudeDelta = Math.toDegrees(Math.asin(sinRatio));
+
+        return new GeoBoundingBox(
+                minLatitude,
+                maxLatitude,
+                longitude - longitudeDelta,
+                longitude + longitudeDelta
+        );
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        // A wrapped box covers longitudes shifted by one turn on the far side of the antimeridian
+        return (longitude >= minLongitude && longitude <= maxLongitude)
+                || longitude + 360 <= maxLongitude
+                || longitude - 360 >= minLongitude;
+    }
+
+    public boolean wrapsLongitude() {
+        return minLongitude < -180 || maxLongitude > 180;
+    }
+
+    public GeoBoundingBox normalized() {
+        if (!wrapsLongitude()) {
+            return this;
+        }
+        return new GeoBoundingBox(minLatitude, maxLatitude, -180, 180);
+    }
+}
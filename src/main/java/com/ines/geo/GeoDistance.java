@@ -0,0 +1,23 @@
+package com.ines.geo;
+
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private GeoDistance() {
+    }
+
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        // Convert to meters
+        return EARTH_RADIUS_KM * c * 1000;
+    }
+}
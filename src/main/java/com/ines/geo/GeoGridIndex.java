@@ -0,0 +1,359 @@
+package com.ines.geo;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Concurrent fixed-degree grid of tracked positions. A radius query only visits
+ * the cells overlapping the search circle, so its cost follows local density
+ * rather than the total number of tracked keys.
+ *
+ * <p>Positions are stored struct-of-arrays: each key is interned to an int slot
+ * whose coordinates live in primitive arrays, so moving a key allocates nothing
+ * unless it changes cell. Writers are serialised; readers take no lock and
+ * validate every slot they read against a per-slot sequence number (a seqlock).
+ */
+public class GeoGridIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final double cellSizeDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+
+    private final Map<String, Integer> slotsByKey = new ConcurrentHashMap<>();
+    // Copy-on-write member arrays, replaced only by writers
+    private final Map<Long, int[]> cells = new ConcurrentHashMap<>();
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+
+    // Guarded by this
+    private int nextSlot;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private static final class Slots {
+        final String[] keys;
+        final double[] latitudes;
+        final double[] longitudes;
+        // Unit vector of each position, computed once per write so queries need no trigonometry
+        final double[] unitX;
+        final double[] unitY;
+        final double[] unitZ;
+        final long[] cells;
+        final long[] updatedAt;
+        // Odd while a write to the slot is in progress
+        final AtomicIntegerArray sequences;
+        // Bumped each time the slot is released, so a stale slot number never resolves to its next owner
+        final AtomicIntegerArray generations;
+
+        Slots(int capacity) {
+            this.keys = new String[capacity];
+            this.latitudes = new double[capacity];
+            this.longitudes = new double[capacity];
+            this.unitX = new double[capacity];
+            this.unitY = new double[capacity];
+            this.unitZ = new double[capacity];
+            this.cells = new long[capacity];
+            this.updatedAt = new long[capacity];
+            this.sequences = new AtomicIntegerArray(capacity);
+            this.generations = new AtomicIntegerArray(capacity);
+        }
+
+        Slots(Slots previous, int capacity) {
+            this.keys = Arrays.copyOf(previous.keys, capacity);
+            this.latitudes = Arrays.copyOf(previous.latitudes, capacity);
+            this.longitudes = Arrays.copyOf(previous.longitudes, capacity);
+            this.unitX = Arrays.copyOf(previous.unitX, capacity);
+            this.unitY = Arrays.copyOf(previous.unitY, capacity);
+            this.unitZ = Arrays.copyOf(previous.unitZ, capacity);
+            this.cells = Arrays.copyOf(previous.cells, capacity);
+            this.updatedAt = Arrays.copyOf(previous.updatedAt, capacity);
+            this.sequences = new AtomicIntegerArray(capacity);
+            this.generations = new AtomicIntegerArray(capacity);
+            for (int slot = 0; slot < previous.keys.length; slot++) {
+                generations.set(slot, previous.generations.get(slot));
+            }
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+    }
+
+    public GeoGridIndex(double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("cell size must be in (0, 90] degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.latitudeCells = (int) Math.ceil(180 / cellSizeDegrees);
+        this.longitudeCells = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    public synchronized void put(String key, double latitude, double longitude) {
+        long cell = cellOf(latitude, longitude);
+        double unitX = RadiusQuery.unitX(latitude, longitude);
+        double unitY = RadiusQuery.unitY(latitude, longitude);
+        double unitZ = RadiusQuery.unitZ(latitude);
+        Integer existing = slotsByKey.get(key);
+        int slot = existing != null ? existing : allocate();
+        Slots s = slots;
+        long previousCell = s.cells[slot];
+
+        // The key joins its new cell before leaving the old one so concurrent queries never miss it
+        if (existing == null || previousCell != cell) {
+            addToCell(cell, slot);
+        }
+        beginWrite(s, slot);
+        s.keys[slot] = key;
+        s.latitudes[slot] = latitude;
+        s.longitudes[slot] = longitude;
+        s.unitX[slot] = unitX;
+        s.unitY[slot] = unitY;
+        s.unitZ[slot] = unitZ;
+        s.cells[slot] = cell;
+        s.updatedAt[slot] = System.currentTimeMillis();
+        endWrite(s, slot);
+        if (existing == null) {
+            slotsByKey.put(key, slot);
+        } else if (previousCell != cell) {
+            removeFromCell(previousCell, slot);
+        }
+    }
+
+    public synchronized boolean remove(String key) {
+        Integer slot = slotsByKey.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        release(slot);
+        return true;
+    }
+
+    /**
+     * Removes every key whose position was last written before {@code cutoffMillis}.
+     *
+     * @return the removed keys
+     */
+    public synchronized List<String> evictUpdatedBefore(long cutoffMillis) {
+        Slots s = slots;
+        List<String> evicted = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : slotsByKey.entrySet()) {
+            if (s.updatedAt[entry.getValue()] < cutoffMillis) {
+                evicted.add(entry.getKey());
+            }
+        }
+        for (String key : evicted) {
+            release(slotsByKey.remove(key));
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return slotsByKey.size();
+    }
+
+    public Set<String> findWithin(double latitude, double longitude, double radiusKm) {
+        SlotBuffer buffer = new SlotBuffer();
+        findWithin(latitude, longitude, radiusKm, buffer);
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            String key = keyAt(buffer.slot(i), buffer.generation(i));
+            if (key != null) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Appends the slot and generation of every key within the radius to {@code result};
+     * resolve them with {@link #keyAt(int, int)}.
+     */
+    public void findWithin(double latitude, double longitude, double radiusKm, SlotBuffer result) {
+        RadiusQuery query = new RadiusQuery(latitude, longitude, radiusKm);
+        GeoBoundingBox box = query.boundingBox();
+        Slots s = slots;
+
+        int minLatIndex = latitudeIndex(box.minLatitude());
+        int maxLatIndex = latitudeIndex(box.maxLatitude());
+        // Indices are taken modulo the ring, so a box crossing the antimeridian needs no special case
+        long firstLonIndex = (long) Math.floor((box.minLongitude() + 180) / cellSizeDegrees);
+        long lastLonIndex = (long) Math.floor((box.maxLongitude() + 180) / cellSizeDegrees);
+        long lonSpan = Math.min(lastLonIndex - firstLonIndex + 1, longitudeCells);
+
+        long cellsToVisit = (long) (maxLatIndex - minLatIndex + 1) * lonSpan;
+        if (cellsToVisit > cells.size()) {
+            // Huge radius: cheaper to walk the populated cells than every covered one
+            for (Map.Entry<Long, int[]> entry : cells.entrySet()) {
+                int latIndex = (int) (entry.getKey() / longitudeCells);
+                long lonOffset = Math.floorMod(entry.getKey() % longitudeCells - firstLonIndex, (long) longitudeCells);
+                if (latIndex >= minLatIndex && latIndex <= maxLatIndex && lonOffset < lonSpan) {
+                    collect(s, entry.getValue(), query, result);
+                }
+            }
+            return;
+        }
+
+        for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+            for (long offset = 0; offset < lonSpan; offset++) {
+                int lonIndex = (int) Math.floorMod(firstLonIndex + offset, (long) longitudeCells);
+                int[] members = cells.get(cellKey(latIndex, lonIndex));
+                if (members != null) {
+                    collect(s, members, query, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Key stored in {@code slot}, or null if the slot was released since the query saw it.
+     */
+    public String keyAt(int slot, int generation) {
+        Slots s = slots;
+        if (slot >= s.capacity()) {
+            return null;
+        }
+        String key;
+        int currentGeneration;
+        int sequence;
+        do {
+            sequence = awaitStableSequence(s, slot);
+            key = s.keys[slot];
+            currentGeneration = s.generations.get(slot);
+            VarHandle.loadLoadFence();
+        } while (s.sequences.get(slot) != sequence);
+        return currentGeneration == generation ? key : null;
+    }
+
+    private void collect(Slots s, int[] members, RadiusQuery query, SlotBuffer result) {
+        result.examined(members.length);
+        for (int slot : members) {
+            if (slot >= s.capacity()) {
+                // Allocated after this query's snapshot of the arrays was taken
+                continue;
+            }
+            double memberLatitude;
+            double memberLongitude;
+            double unitX;
+            double unitY;
+            double unitZ;
+            int generation;
+            int sequence;
+            do {
+                sequence = awaitStableSequence(s, slot);
+                memberLatitude = s.latitudes[slot];
+                memberLongitude = s.longitudes[slot];
+                unitX = s.unitX[slot];
+                unitY = s.unitY[slot];
+                unitZ = s.unitZ[slot];
+                generation = s.generations.get(slot);
+                VarHandle.loadLoadFence();
+            } while (s.sequences.get(slot) != sequence);
+
+            if (query.contains(memberLatitude, memberLongitude, unitX, unitY, unitZ)) {
+                result.add(slot, generation);
+            }
+        }
+    }
+
+    private static int awaitStableSequence(Slots s, int slot) {
+        int sequence = s.sequences.getAcquire(slot);
+        while ((sequence & 1) != 0) {
+            Thread.onSpinWait();
+            sequence = s.sequences.getAcquire(slot);
+        }
+        return sequence;
+    }
+
+    private static void beginWrite(Slots s, int slot) {
+        s.sequences.set(slot, s.sequences.get(slot) + 1);
+        VarHandle.storeStoreFence();
+    }
+
+    private static void endWrite(Slots s, int slot) {
+        s.sequences.setRelease(slot, s.sequences.get(slot) + 1);
+    }
+
+    // Callers hold the lock
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextSlot == slots.capacity()) {
+            slots = new Slots(slots, slots.capacity() * 2);
+        }
+        return nextSlot++;
+    }
+
+    // Callers hold the lock
+    private void release(int slot) {
+        Slots s = slots;
+        removeFromCell(s.cells[slot], slot);
+        beginWrite(s, slot);
+        s.keys[slot] = null;
+        s.generations.incrementAndGet(slot);
+        endWrite(s, slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void addToCell(long cell, int slot) {
+        int[] members = cells.get(cell);
+        if (members == null) {
+            cells.put(cell, new int[]{slot});
+            return;
+        }
+        int[] grown = Arrays.copyOf(members, members.length + 1);
+        grown[members.length] = slot;
+        cells.put(cell, grown);
+    }
+
+    private void removeFromCell(long cell, int slot) {
+        int[] members = cells.get(cell);
+        if (members == null) {
+            return;
+        }
+        int index = 0;
+        while (index < members.length && members[index] != slot) {
+            index++;
+        }
+        if (index == members.length) {
+            return;
+        }
+        if (members.length == 1) {
+            cells.remove(cell);
+            return;
+        }
+        int[] shrunk = new int[members.length - 1];
+        System.arraycopy(members, 0, shrunk, 0, index);
+        System.arraycopy(members, index + 1, shrunk, index, shrunk.length - index);
+        cells.put(cell, shrunk);
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return cellKey(latitudeIndex(latitude), longitudeIndex(longitude));
+    }
+
+    private long cellKey(int latIndex, int lonIndex) {
+        return (long) latIndex * longitudeCells + lonIndex;
+    }
+
+    private int latitudeIndex(double latitude) {
+        int index = (int) Math.floor((latitude + 90) / cellSizeDegrees);
+        return Math.min(Math.max(index, 0), latitudeCells - 1);
+    }
+
+    private int longitudeIndex(double longitude) {
+        int index = (int) Math.floor((longitude + 180) / cellSizeDegrees);
+        return Math.floorMod(index, longitudeCells);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ines.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Standard base-32 geohash. A hash of {@code n} characters names a cell of
+ * {@code ceil(5n/2)} longitude bits by {@code floor(5n/2)} latitude bits;
+ * five characters are roughly 4.9 x 4.9 km.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        requireValidPrecision(precision);
+        return encode(latitudeIndex(latitude, precision), longitudeIndex(longitude, precision), precision);
+    }
+
+    /**
+     * Every cell of the given precision that intersects {@code box}, scanning rows south to north.
+     * Longitudes beyond +/-180 wrap, so a box crossing the antimeridian covers cells on both sides.
+     */
+    public static List<String> covering(GeoBoundingBox box, int precision) {
+        requireValidPrecision(precision);
+        long longitudeCells = 1L << longitudeBits(precision);
+        double cellWidth = 360.0 / longitudeCells;
+
+        int minLatIndex = latitudeIndex(box.minLatitude(), precision);
+        int maxLatIndex = latitudeIndex(box.maxLatitude(), precision);
+        long firstLonIndex = (long) Math.floor((box.minLongitude() + 180) / cellWidth);
+        long lastLonIndex = (long) Math.floor((box.maxLongitude() + 180) / cellWidth);
+        long lonSpan = Math.min(lastLonIndex - firstLonIndex + 1, longitudeCells);
+
+        List<String> cells = new ArrayList<>((int) Math.min((maxLatIndex - minLatIndex + 1) * lonSpan, 1024));
+        for (int latIndex = minLatIndex; latIndex <= maxLatIndex; latIndex++) {
+            for (long offset = 0; offset < lonSpan; offset++) {
+                long lonIndex = Math.floorMod(firstLonIndex + offset, longitudeCells);
+                cells.add(encode(latIndex, lonIndex, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static String encode(long latIndex, long lonIndex, int precision) {
+        int latBits = latitudeBits(precision);
+        int lonBits = longitudeBits(precision);
+        char[] hash = new char[precision];
+        int value = 0;
+        // Bits interleave starting with longitude, most significant first
+        for (int i = 0; i < precision * 5; i++) {
+            int bit = (i & 1) == 0
+                    ? (int) (lonIndex >>> --lonBits) & 1
+                    : (int) (latIndex >>> --latBits) & 1;
+            value = (value << 1) | bit;
+            if (i % 5 == 4) {
+                hash[i / 5] = BASE32[value];
+                value = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    private static int latitudeIndex(double latitude, int precision) {
+        long cells = 1L << latitudeBits(precision);
+        long index = (long) Math.floor((latitude + 90) / (180.0 / cells));
+        return (int) Math.min(Math.max(index, 0), cells - 1);
+    }
+
+    private static long longitudeIndex(double longitude, int precision) {
+        long cells = 1L << longitudeBits(precision);
+        return Math.floorMod((long) Math.floor((longitude + 180) / (360.0 / cells)), cells);
+    }
+
+    private static int latitudeBits(int precision) {
+        return precision * 5 / 2;
+    }
+
+    private static int longitudeBits(int precision) {
+        return (precision * 5 + 1) / 2;
+    }
+
+    private static void requireValidPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ines.geo;
+
+/**
+ * Precomputed "within radius of a centre" test for scanning many candidates.
+ * Candidates outside the bounding box are rejected with two comparisons; the
+ * rest are compared by squared chord length between unit vectors, which needs
+ * no trigonometry per candidate. Only candidates in a thin band around the
+ * radius, where rounding could flip the answer, go through exact haversine.
+ */
+public final class RadiusQuery {
+
+    // Absolute band on chord^2 (~4 mm at a 5 km radius); small radii fall entirely inside it
+    private static final double BOUNDARY_EPSILON = 1e-12;
+
+    private final double latitude;
+    private final double longitude;
+    private final double radiusMeters;
+    private final GeoBoundingBox box;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final double lowerChordSquared;
+    private final double upperChordSquared;
+
+    public RadiusQuery(double latitude, double longitude, double radiusKm) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusMeters = radiusKm * 1000;
+        this.box = GeoBoundingBox.around(latitude, longitude, radiusKm);
+
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+        double cosLat = Math.cos(latRad);
+        this.x = cosLat * Math.cos(lonRad);
+        this.y = cosLat * Math.sin(lonRad);
+        this.z = Math.sin(latRad);
+
+        // Chord of the central angle: |a - b| = 2 sin(angle / 2)
+        double angle = Math.min(radiusKm / GeoDistance.EARTH_RADIUS_KM, Math.PI);
+        double chord = 2 * Math.sin(angle / 2);
+        double chordSquared = chord * chord;
+        this.lowerChordSquared = chordSquared - BOUNDARY_EPSILON;
+        this.upperChordSquared = chordSquared + BOUNDARY_EPSILON;
+    }
+
+    public GeoBoundingBox boundingBox() {
+        return box;
+    }
+
+    /**
+     * @param unitX unit vector of the candidate, see {@link #unitX(double, double)}
+     */
+    public boolean contains(double candidateLatitude,
+                            double candidateLongitude,
+                            double unitX,
+                            double unitY,
+                            double unitZ) {
+        if (!box.contains(candidateLatitude, candidateLongitude)) {
+            return false;
+        }
+        double dx = unitX - x;
+        double dy = unitY - y;
+        double dz = unitZ - z;
+        double chordSquared = dx * dx + dy * dy + dz * dz;
+        if (chordSquared < lowerChordSquared) {
+            return true;
+        }
+        if (chordSquared > upperChordSquared) {
+            return false;
+        }
+        return GeoDistance.haversineMeters(candidateLatitude, candidateLongitude, latitude, longitude) <= radiusMeters;
+    }
+
+    public boolean contains(double candidateLatitude, double candidateLongitude) {
+        return contains(
+                candidateLatitude,
+                candidateLongitude,
+                unitX(candidateLatitude, candidateLongitude),
+                unitY(candidateLatitude, candidateLongitude),
+                unitZ(candidateLatitude)
+        );
+    }
+
+    public static double unitX(double latitude, double longitude) {
+        return Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(longitude));
+    }
+
+    public static double unitY(double latitude, double longitude) {
+        return Math.cos(Math.toRadians(latitude)) * Math.sin(Math.toRadians(longitude));
+    }
+
+    public static double unitZ(double latitude) {
+        return Math.sin(Math.toRadians(latitude));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ines.geo;
+
+import java.util.Arrays;
+
+/**
+ * Growable pair of int arrays receiving the slots matched by a
+ * {@link GeoGridIndex} query. Meant to be cleared and reused by one thread.
+ */
+public final class SlotBuffer {
+
+    private int[] slots;
+    private int[] generations;
+    private int size;
+    private int candidates;
+
+    public SlotBuffer() {
+        this(64);
+    }
+
+    public SlotBuffer(int initialCapacity) {
+        this.slots = new int[initialCapacity];
+        this.generations = new int[initialCapacity];
+    }
+
+    public void clear() {
+        size = 0;
+        candidates = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int slot(int index) {
+        return slots[index];
+    }
+
+    public int generation(int index) {
+        return generations[index];
+    }
+
+    /**
+     * Number of entries the query examined in the cells it visited, matched or not.
+     */
+    public int candidates() {
+        return candidates;
+    }
+
+    void examined(int count) {
+        candidates += count;
+    }
+
+    void add(int slot, int generation) {
+        if (size == slots.length) {
+            int capacity = Math.max(16, slots.length * 2);
+            slots = Arrays.copyOf(slots, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        slots[size] = slot;
+        generations[size] = generation;
+        size++;
+    }
+}
@@ -1,15 +1,18 @@
 package com.ines.jwt;
 
 import com.ines.service.CustomerUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,12 +23,15 @@ import java.io.IOException;
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CustomerUserDetailsService userDetailsService;
+    private final boolean stateless;
 
     public JWTAuthenticationFilter(JWTUtil jwtUtil,
-                                   CustomerUserDetailsService userDetailsService) {
+                                   CustomerUserDetailsService userDetailsService,
+                                   @Value("${jwt.stateless:false}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -42,12 +48,19 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String subject = jwtUtil.getSubject(jwt);
+        // Parsed and verified once, then served from JWTUtil's cache on later requests
+        Claims claims = jwtUtil.getClaims(jwt);
+        String subject = claims.getSubject();
 
         if (subject != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
-            if (jwtUtil.isTokenValid(jwt, userDetails.getUsername())) {
+            // Served from the principal cache, so both modes can reject a deleted customer
+            // or a token issued before the customer's last role or password change
+            UserDetails userDetails = userDetailsService.findPrincipalByEmail(subject)
+                    .filter(customer -> customer.tokenVersion() == jwtUtil.getTokenVersion(claims))
+                    .<UserDetails>map(customer -> stateless ? principalFromClaims(claims) : customer)
+                    .orElse(null);
+            if (userDetails != null && jwtUtil.isTokenValid(claims, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities()
@@ -61,4 +74,16 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
 
     }
+
+    // Authorities come from the token's scopes; the version check above is what
+    // keeps them from outliving a role change
+    private UserDetails principalFromClaims(Claims claims) {
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(jwtUtil.getScopes(claims)
+                        .stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList())
+                .build();
+    }
 }
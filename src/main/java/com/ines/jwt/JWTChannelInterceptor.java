@@ -0,0 +1,67 @@
+package com.ines.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates a STOMP session once, on CONNECT, from the bearer token in the
+ * frame's native headers. The principal is kept by the session, so later frames
+ * and user destinations resolve to the token's subject.
+ */
+@Component
+public class JWTChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JWTUtil jwtUtil;
+
+    public JWTChannelInterceptor(JWTUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor =
+                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            throw new AuthenticationCredentialsNotFoundException("Missing bearer token");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.getClaims(authHeader.substring(BEARER_PREFIX.length()));
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid token", e);
+        }
+        if (claims.getSubject() == null || !jwtUtil.isTokenValid(claims, claims.getSubject())) {
+            throw new BadCredentialsException("Invalid token");
+        }
+
+        accessor.setUser(new UsernamePasswordAuthenticationToken(
+                claims.getSubject(),
+                null,
+                jwtUtil.getScopes(claims)
+                        .stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList()
+        ));
+        return message;
+    }
+}
@@ -1,25 +1,66 @@
 package com.ines.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 
 @Service
 public class JWTUtil {
 
+    static final String VERSION_CLAIM = "ver";
+
     private static final String SECRET_KEY =
             "foobar_123456789_foobar_123456789_foobar_123456789_foobar_123456789";
 
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    // Verified claims keyed by token hash; each entry lives until its token expires
+    private final Cache<String, Claims> verifiedClaims;
+    // Only cache misses pay for signature verification; hits show up in the cache metrics
+    private final Timer verificationTimer;
+
+    public JWTUtil(@Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+                   MeterRegistry meterRegistry) {
+        this.verifiedClaims = CaffeineCacheMetrics.monitor(
+                meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(claimsCacheMaxSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build(),
+                "jwt.claims"
+        );
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Time to parse and verify the signature of a token not yet in the claims cache")
+                .register(meterRegistry);
+    }
 
     public String issueToken(String subject) {
         return issueToken(subject, Map.of());
@@ -33,6 +74,10 @@ public class JWTUtil {
         return issueToken(subject, Map.of("scopes", scopes));
     }
 
+    public String issueToken(String subject, int tokenVersion, List<String> scopes) {
+        return issueToken(subject, Map.of("scopes", scopes, VERSION_CLAIM, tokenVersion));
+    }
+
 
     public String issueToken(
             String subject,
@@ -48,7 +93,7 @@ public class JWTUtil {
                                 Instant.now().plus(15, DAYS)
                         )
                 )
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
         return token;
     }
@@ -57,27 +102,70 @@ public class JWTUtil {
         return getClaims(token).getSubject();
     }
 
-    private Claims getClaims(String token) {
-        Claims claims = Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims;
+    public Claims getClaims(String token) {
+        return verifiedClaims.get(
+                hash(token),
+                key -> verificationTimer.record(() -> parser.parseClaimsJws(token).getBody())
+        );
+    }
+
+    public List<String> getScopes(Claims claims) {
+        Object scopes = claims.get("scopes");
+        if (!(scopes instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .toList();
     }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Tokens issued before versioning, or at registration, count as version 0
+    public int getTokenVersion(Claims claims) {
+        return claims.get(VERSION_CLAIM) instanceof Number version ? version.intValue() : 0;
     }
 
     public boolean isTokenValid(String jwt, String username) {
-        String subject = getSubject(jwt);
-        return subject.equals(username) && !isTokenExpired(jwt);
+        return isTokenValid(getClaims(jwt), username);
     }
 
-    private boolean isTokenExpired(String jwt) {
+    public boolean isTokenValid(Claims claims, String username) {
+        return claims.getSubject().equals(username) && !isTokenExpired(claims);
+    }
+
+    private boolean isTokenExpired(Claims claims) {
         Date today = Date.from(Instant.now());
-        return getClaims(jwt).getExpiration().before(today);
+        return claims.getExpiration().before(today);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            if (claims.getExpiration() == null) {
+                return Long.MAX_VALUE;
+            }
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,41 @@
+package com.ines.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ines.dto.AlertNotification;
+import com.ines.model.Alert;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+
+/**
+ * Encodes an alert to its JSON notification once, so a fan-out can hand the
+ * same byte payload to every recipient instead of converting per destination.
+ */
+@Service
+public class AlertNotificationEncoder {
+
+    private static final MessageHeaders JSON_HEADERS =
+            new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON));
+
+    private final ObjectWriter writer;
+
+    public AlertNotificationEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(AlertNotification.class);
+    }
+
+    public Message<byte[]> encode(Alert alert) {
+        try {
+            byte[] payload = writer.writeValueAsBytes(AlertNotification.from(alert));
+            return MessageBuilder.createMessage(payload, JSON_HEADERS);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Unable to encode alert " + alert.getId(), e);
+        }
+    }
+}
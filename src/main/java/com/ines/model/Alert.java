@@ -17,7 +17,15 @@ import java.time.LocalDateTime;
 @Builder
 public class Alert {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(
+            name = "alerts_id_seq",
+            sequenceName = "alerts_id_seq",
+            allocationSize = 50
+    )
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "alerts_id_seq"
+    )
     private Long id;
 
     @Column(nullable = false)
@@ -36,7 +44,7 @@ public class Alert {
     @Column(nullable = false)
     private Double longitude;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false) // Updated column name
     @JsonBackReference
     private Customer user;
@@ -0,0 +1,40 @@
+package com.ines.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "alert_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertOutbox {
+    @Id
+    @SequenceGenerator(
+            name = "alert_outbox_id_seq",
+            sequenceName = "alert_outbox_id_seq",
+            allocationSize = 50
+    )
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "alert_outbox_id_seq"
+    )
+    private Long id;
+
+    @Column(nullable = false)
+    private Long alertId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime claimedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
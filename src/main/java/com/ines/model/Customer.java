@@ -30,7 +30,7 @@ public class Customer implements UserDetails {
     @SequenceGenerator(
             name = "customer_id_seq",
             sequenceName = "customer_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -65,6 +65,11 @@ public class Customer implements UserDetails {
     @Column(unique = true)
     private String profileImageId;
 
+    // Maintained by a database trigger on role or password changes; never written from here
+    @Builder.Default
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private Integer tokenVersion = 0;
+
     public Customer(int id, String alex, String mail, String password, int i, Gender gender) {
         this.id = id;
         this.name = alex;
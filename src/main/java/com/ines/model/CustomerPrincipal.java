@@ -0,0 +1,65 @@
+package com.ines.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the security-relevant customer columns, cheap enough
+ * to cache between requests unlike the managed {@link Customer} entity.
+ */
+public record CustomerPrincipal(
+        Integer id,
+        String email,
+        Customer.Role role,
+        String password,
+        int tokenVersion
+) implements UserDetails {
+
+    public static CustomerPrincipal from(Customer customer) {
+        return new CustomerPrincipal(
+                customer.getId(),
+                customer.getEmail(),
+                customer.getRole(),
+                customer.getPassword(),
+                customer.getTokenVersion() != null ? customer.getTokenVersion() : 0
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(() -> role.name());
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
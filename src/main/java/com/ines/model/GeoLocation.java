@@ -1,7 +1,14 @@
 package com.ines.model;
 
+// Boxed so a ping missing a coordinate arrives as null rather than as 0
 public record GeoLocation(
         Double latitude,
         Double longitude
 ) {
+
+    public boolean isValid() {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
 }
@@ -0,0 +1,23 @@
+package com.ines.repository;
+
+import com.ines.model.AlertOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AlertOutboxRepository extends JpaRepository<AlertOutbox, Long> {
+
+    // Rows locked by another relay are skipped, and claimed rows only come back once their claim is stale
+    @Query(value = """
+        SELECT * FROM alert_outbox
+        WHERE claimed_at IS NULL OR claimed_at < :staleBefore
+        ORDER BY id
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<AlertOutbox> claimBatch(@Param("staleBefore") LocalDateTime staleBefore,
+                                 @Param("batchSize") int batchSize);
+}
@@ -1,28 +1,177 @@
 package com.ines.repository;
 
+import com.ines.dto.AlertSummaryView;
 import com.ines.model.Alert;
 import com.ines.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface AlertRepository extends JpaRepository<Alert, Long> {
+    String SUMMARY_SELECT = """
+        SELECT a.id AS id, a.title AS title, a.description AS description,
+               a.type AS type, a.severity AS severity, a.status AS status,
+               a.latitude AS latitude, a.longitude AS longitude,
+               a.createdAt AS createdAt, a.updatedAt AS updatedAt,
+               u.id AS userId, u.name AS userName, u.email AS userEmail,
+               u.gender AS userGender, u.age AS userAge, u.role AS userRole,
+               u.profileImageId AS userProfileImageId
+        FROM Alert a
+        JOIN a.user u
+        """;
+
     List<Alert> findByUserOrderByCreatedAtDesc(Customer userId);
 
+    @Query(SUMMARY_SELECT + "WHERE a.id = :id")
+    Optional<AlertSummaryView> findSummaryById(@Param("id") Long id);
+
+    String FILTER_WHERE = """
+        WHERE (:status IS NULL OR a.status = :status)
+        AND (:type IS NULL OR a.type = :type)
+        AND (:severity IS NULL OR a.severity = :severity)
+        AND (:from IS NULL OR a.createdAt >= :from)
+        AND (:to IS NULL OR a.createdAt < :to)
+        """;
+
+    // Row-value comparison is spelled out so JPQL can use the (created_at, id) ordering
+    @Query(SUMMARY_SELECT + FILTER_WHERE + """
+        AND (a.createdAt < :cursorCreatedAt
+             OR (a.createdAt = :cursorCreatedAt AND a.id < :cursorId))
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    List<AlertSummaryView> findSummaryPage(
+            @Param("status") Alert.AlertStatus status,
+            @Param("type") Alert.AlertType type,
+            @Param("severity") Alert.Severity severity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable limit
+    );
+
+    // Must be consumed inside a read-only transaction; the fetch size makes the
+    // PostgreSQL driver use a server-side cursor instead of buffering every row
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + FILTER_WHERE + "ORDER BY a.createdAt DESC, a.id DESC")
+    Stream<AlertSummaryView> streamSummaries(
+            @Param("status") Alert.AlertStatus status,
+            @Param("type") Alert.AlertType type,
+            @Param("severity") Alert.Severity severity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<AlertSummaryView> findSummariesByUserId(@Param("userId") Integer userId);
+
+    // Owner join and result columns shared by the UPDATE ... RETURNING queries below
+    String OWNED_SUMMARY_RETURNING = """
+        FROM customer c
+        WHERE a.id = :id
+        AND c.id = a.user_id
+        AND c.email = :email
+        RETURNING a.id AS id, a.title AS title, a.description AS description,
+                  a.type AS type, a.severity AS severity, a.status AS status,
+                  a.latitude AS latitude, a.longitude AS longitude,
+                  a.created_at AS "createdAt", a.updated_at AS "updatedAt",
+                  c.id AS "userId", c.name AS "userName", c.email AS "userEmail",
+                  c.gender AS "userGender", c.age AS "userAge", c.role AS "userRole",
+                  c.profile_image_id AS "userProfileImageId"
+        """;
+
+    // Checks ownership, writes and reads back the response row in one round-trip;
+    // empty when the alert is missing or owned by someone else.
+    // Not @Modifying, which only allows a row count, so it needs a writable transaction of its own
+    @Transactional
+    @Query(value = """
+        UPDATE alerts a
+        SET title = :title,
+            description = :description,
+            type = :type,
+            latitude = :latitude,
+            longitude = :longitude,
+            severity = :severity,
+            updated_at = :updatedAt
+        """ + OWNED_SUMMARY_RETURNING, nativeQuery = true)
+    Optional<AlertSummaryView> updateIfOwner(
+            @Param("id") Long id,
+            @Param("email") String email,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("type") String type,
+            @Param("latitude") Double latitude,
+            @Param("longitude") Double longitude,
+            @Param("severity") String severity,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Transactional
+    @Query(value = """
+        UPDATE alerts a
+        SET status = :status,
+            updated_at = :updatedAt
+        """ + OWNED_SUMMARY_RETURNING, nativeQuery = true)
+    Optional<AlertSummaryView> updateStatusIfOwner(
+            @Param("id") Long id,
+            @Param("email") String email,
+            @Param("status") String status,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        DELETE FROM Alert a
+        WHERE a.id = :id
+        AND a.user.id = (SELECT c.id FROM Customer c WHERE c.email = :email)
+        """)
+    int deleteIfOwner(@Param("id") Long id, @Param("email") String email);
+
+    // The latitude/longitude box lets idx_alert_location discard most rows before the exact distance check
     @Query(value = """
-        SELECT * FROM alerts 
-        WHERE status = 'ACTIVE' 
-        AND (6371 * acos(cos(radians(:latitude)) * cos(radians(latitude)) 
-        * cos(radians(longitude) - radians(:longitude)) 
-        + sin(radians(:latitude)) * sin(radians(latitude)))) <= :radius
-        ORDER BY created_at DESC
+        SELECT a.id AS id, a.title AS title, a.description AS description,
+               a.type AS type, a.severity AS severity, a.status AS status,
+               a.latitude AS latitude, a.longitude AS longitude,
+               a.created_at AS "createdAt", a.updated_at AS "updatedAt",
+               c.id AS "userId", c.name AS "userName", c.email AS "userEmail",
+               c.gender AS "userGender", c.age AS "userAge", c.role AS "userRole",
+               c.profile_image_id AS "userProfileImageId"
+        FROM alerts a
+        JOIN customer c ON c.id = a.user_id
+        WHERE a.status = 'ACTIVE'
+        AND a.latitude BETWEEN :minLatitude AND :maxLatitude
+        AND a.longitude BETWEEN :minLongitude AND :maxLongitude
+        AND ST_DWithin(
+            a.geog,
+            CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography),
+            :radius * 1000
+        )
+        AND (a.created_at, a.id) < (:cursorCreatedAt, :cursorId)
+        ORDER BY a.created_at DESC, a.id DESC
+        LIMIT :limit
         """, nativeQuery = true)
-    List<Alert> findNearbyAlerts(
+    List<AlertSummaryView> findNearbyAlerts(
             @Param("latitude") Double latitude,
             @Param("longitude") Double longitude,
-            @Param("radius") Double radiusInKm
+            @Param("radius") Double radiusInKm,
+            @Param("minLatitude") Double minLatitude,
+            @Param("maxLatitude") Double maxLatitude,
+            @Param("minLongitude") Double minLongitude,
+            @Param("maxLongitude") Double maxLongitude,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
     );
 }
@@ -2,6 +2,7 @@ package com.ines.repository;
 
 import com.ines.model.Customer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,7 +10,9 @@ public interface CustomerDao {
     List<Customer> selectAllCustomers();
     Optional<Customer> selectCustomerById(Integer customerId);
     void insertCustomer(Customer customer);
+    void insertCustomers(List<Customer> customers);
     boolean existsCustomerWithEmail(String email);
+    List<String> selectExistingEmails(Collection<String> emails);
     boolean existsCustomerById(Integer customerId);
     void deleteCustomerById(Integer customerId);
     void updateCustomer(Customer update);
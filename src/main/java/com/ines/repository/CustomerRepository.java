@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Transactional
@@ -13,6 +15,8 @@ public interface CustomerRepository
         extends JpaRepository<Customer, Integer> {
 
     boolean existsCustomerByEmail(String email);
+    @Query("SELECT c.email FROM Customer c WHERE c.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
     boolean existsCustomerById(Integer id);
     Optional<Customer> findCustomerByEmail(String email);
     @Modifying(clearAutomatically = true)
@@ -1,6 +1,7 @@
 package com.ines.security;
 
 import com.ines.jwt.JWTAuthenticationFilter;
+import com.ines.model.Customer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,8 +50,12 @@ public class SecurityFilterChainConfig {
                         "/api/v1/customers/*/profile-image"
                 )
                 .permitAll()
-                .requestMatchers(HttpMethod.GET, "/actuator/**")
+                .requestMatchers(HttpMethod.POST, "/api/v1/customers/batch")
+                .hasAuthority(Customer.Role.ADMIN.name())
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**", "/actuator/info")
                 .permitAll()
+                .requestMatchers("/actuator/**")
+                .hasAuthority(Customer.Role.ADMIN.name())
                 .requestMatchers("/ws-alerts/**")
                 .permitAll()
                 .anyRequest()
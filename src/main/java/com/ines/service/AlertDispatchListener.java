@@ -0,0 +1,53 @@
+package com.ines.service;
+
+import com.ines.event.AlertCreatedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class AlertDispatchListener {
+    private final AlertOutboxRelay alertOutboxRelay;
+    private final Executor alertDispatchExecutor;
+    // A drain picks up everything committed before it starts, so a burst of alerts needs
+    // at most one running drain plus one more for whatever arrived while it ran
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public AlertDispatchListener(AlertOutboxRelay alertOutboxRelay,
+                                 @Qualifier("alertDispatchExecutor") Executor alertDispatchExecutor) {
+        this.alertOutboxRelay = alertOutboxRelay;
+        this.alertDispatchExecutor = alertDispatchExecutor;
+    }
+
+    // Runs once the alert and its outbox entry are committed; draining the outbox
+    // right away keeps latency low without bypassing its delivery guarantees
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertCreated(AlertCreatedEvent event) {
+        drainRequested.set(true);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            alertDispatchExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (drainRequested.getAndSet(false)) {
+                alertOutboxRelay.relayPending();
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A request that landed between the last check and releasing the flag would otherwise wait for the poller
+        if (drainRequested.get()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ines.service;
+
+import com.ines.controller.WebSocketController;
+import com.ines.model.Alert;
+import com.ines.model.AlertOutbox;
+import com.ines.repository.AlertOutboxRepository;
+import com.ines.repository.AlertRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class AlertOutboxRelay {
+
+    private final AlertOutboxRepository alertOutboxRepository;
+    private final AlertRepository alertRepository;
+    private final WebSocketController webSocketController;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration claimTimeout;
+
+    public AlertOutboxRelay(AlertOutboxRepository alertOutboxRepository,
+                            AlertRepository alertRepository,
+                            WebSocketController webSocketController,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${alerts.outbox.batch-size:100}") int batchSize,
+                            @Value("${alerts.outbox.claim-timeout:PT1M}") Duration claimTimeout) {
+        this.alertOutboxRepository = alertOutboxRepository;
+        this.alertRepository = alertRepository;
+        this.webSocketController = webSocketController;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+    }
+
+    // Safety net for entries whose after-commit dispatch never ran, e.g. after a crash or restart
+    @Scheduled(fixedDelayString = "${alerts.outbox.poll-interval:PT1S}")
+    public void relayPending() {
+        Claim claim;
+        do {
+            claim = transactionTemplate.execute(status -> claimBatch());
+            if (claim == null || claim.entries().isEmpty()) {
+                return;
+            }
+            deliver(claim);
+        } while (claim.entries().size() == batchSize);
+    }
+
+    // Short transaction: the row locks are released before any message is sent
+    private Claim claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AlertOutbox> entries = alertOutboxRepository.claimBatch(now.minus(claimTimeout), batchSize);
+        if (entries.isEmpty()) {
+            return new Claim(entries, Map.of());
+        }
+        entries.forEach(entry -> entry.setClaimedAt(now));
+
+        Map<Long, Alert> alerts = alertRepository.findAllById(
+                        entries.stream().map(AlertOutbox::getAlertId).toList()
+                )
+                .stream()
+                .collect(Collectors.toMap(Alert::getId, Function.identity()));
+        return new Claim(entries, alerts);
+    }
+
+    // Only delivered entries are deleted. A failed send leaves its entry claimed, and it is
+    // retried once the claim goes stale, so delivery is at-least-once per entry, not per batch.
+    private void deliver(Claim claim) {
+        List<Long> done = new ArrayList<>(claim.entries().size());
+        for (AlertOutbox entry : claim.entries()) {
+            Alert alert = claim.alerts().get(entry.getAlertId());
+            try {
+                if (alert != null) {
+                    webSocketController.notifyNearbyUsers(alert);
+                }
+                done.add(entry.getId());
+            } catch (RuntimeException e) {
+                log.warn("Failed to relay alert {}, retrying after {}", entry.getAlertId(), claimTimeout, e);
+            }
+        }
+        if (!done.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> alertOutboxRepository.deleteAllByIdInBatch(done));
+        }
+    }
+
+    private record Claim(List<AlertOutbox> entries, Map<Long, Alert> alerts) {
+    }
+}
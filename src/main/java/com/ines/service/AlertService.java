@@ -1,47 +1,181 @@
 package com.ines.service;
 
-import com.ines.controller.WebSocketController;
+import com.ines.dto.AlertCursor;
 import com.ines.dto.AlertDto;
+import com.ines.dto.AlertFilter;
+import com.ines.dto.AlertImportResult;
 import com.ines.dto.AlertResponseDto;
+import com.ines.dto.AlertSummaryView;
+import com.ines.dto.CursorPage;
+import com.ines.dto.CustomerDTO;
+import com.ines.event.AlertCreatedEvent;
+import com.ines.exception.RequestValidationException;
 import com.ines.exception.ResourceNotFoundException;
+import com.ines.geo.GeoBoundingBox;
 import com.ines.mapper.CustomerDTOMapper;
 import com.ines.model.Alert;
+import com.ines.model.AlertOutbox;
 import com.ines.model.Customer;
+import com.ines.model.CustomerPrincipal;
+import com.ines.repository.AlertOutboxRepository;
 import com.ines.repository.AlertRepository;
 import com.ines.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AlertService {
+    static final int MAX_PAGE_SIZE = 200;
+    // Matches hibernate.jdbc.batch_size so every flush sends full batches
+    static final int IMPORT_CHUNK_SIZE = 50;
+
     private final AlertRepository alertRepository;
+    private final AlertOutboxRepository alertOutboxRepository;
     private final CustomerRepository customerRepository;
     private final CustomerDTOMapper customerDTOMapper;
-    private final WebSocketController webSocketController;
+    private final CustomerUserDetailsService customerUserDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     public AlertResponseDto getAlertById(Long id) {
-        Alert alert = alertRepository.findById(id)
+        AlertSummaryView alert = alertRepository.findSummaryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
         return mapToResponseDto(alert);
     }
 
-    public List<AlertResponseDto> getAllAlerts() {
-        return alertRepository.findAll().stream()
-                .map(this::mapToResponseDto)
-                .toList();
+    public CursorPage<AlertResponseDto> getAlerts(AlertFilter filter, String cursor, int size) {
+        requireValidRange(filter);
+        AlertCursor after = AlertCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // Fetch one extra row to learn whether another page follows
+        List<AlertSummaryView> alerts = alertRepository.findSummaryPage(
+                filter.status(),
+                filter.type(),
+                filter.severity(),
+                filter.from(),
+                filter.to(),
+                after.createdAt(),
+                after.id(),
+                PageRequest.ofSize(pageSize + 1)
+        );
+        return toCursorPage(alerts, pageSize);
+    }
+
+    // The transaction keeps the server-side cursor open while rows are handed to the consumer one by one
+    @Transactional(readOnly = true)
+    public void streamAlerts(AlertFilter filter, Consumer<AlertResponseDto> consumer) {
+        requireValidRange(filter);
+        try (Stream<AlertSummaryView> alerts = alertRepository.streamSummaries(
+                filter.status(),
+                filter.type(),
+                filter.severity(),
+                filter.from(),
+                filter.to()
+        )) {
+            alerts.map(this::mapToResponseDto).forEach(consumer);
+        }
+    }
+
+    private void requireValidRange(AlertFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new RequestValidationException("from must be before to");
+        }
     }
 
+    @Transactional
     public AlertResponseDto createAlert(AlertDto alertDto, String email) {
-        Customer user = customerRepository.findCustomerByEmail(email)
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Customer user = reporterReference(email);
+
+        Alert saved = alertRepository.save(toAlert(alertDto, user));
+        alertOutboxRepository.save(AlertOutbox.builder()
+                .alertId(saved.getId())
+                .build());
+        eventPublisher.publishEvent(new AlertCreatedEvent(saved));
+        recordCreationAfterCommit(sample);
+        return mapToResponseDto(saved);
+    }
+
+    /**
+     * Imports alerts for one reporter in transactions of {@link #IMPORT_CHUNK_SIZE} rows.
+     * Each chunk is pulled from {@code alerts} before its transaction opens, so a slow upload
+     * never holds a pooled connection while the next rows arrive. Committed chunks stay when a
+     * later entry is rejected; the result then carries how many were imported, how many were read
+     * after those and discarded, and why it stopped.
+     */
+    public AlertImportResult importAlerts(Iterator<AlertDto> alerts, String email) {
+        Customer user = reporterReference(email);
+
+        List<Alert> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        int imported = 0;
+        try {
+            while (alerts.hasNext()) {
+                chunk.add(toAlert(alerts.next(), user));
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    imported += saveChunk(chunk);
+                }
+            }
+        } catch (RequestValidationException e) {
+            // The unfinished chunk is dropped along with the entry that was rejected
+            return new AlertImportResult(imported, chunk.size() + 1, e.getMessage());
+        }
+        imported += saveChunk(chunk);
+        return new AlertImportResult(imported, null, null);
+    }
+
+    // The cached principal supplies the id, so writing an alert never loads its reporter;
+    // only mapping a response initialises the reference
+    private Customer reporterReference(String email) {
+        CustomerPrincipal principal = customerUserDetailsService.findPrincipalByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        return customerRepository.getReferenceById(principal.id());
+    }
+
+    private int saveChunk(List<Alert> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Alert> saved = alertRepository.saveAll(chunk);
+            alertOutboxRepository.saveAll(saved.stream()
+                    .map(alert -> AlertOutbox.builder()
+                            .alertId(alert.getId())
+                            .build())
+                    .toList());
+            // The dispatch listener drains the whole outbox, so one event covers the chunk
+            eventPublisher.publishEvent(new AlertCreatedEvent(saved.get(saved.size() - 1)));
+            entityManager.flush();
+            entityManager.clear();
+        });
+        int saved = chunk.size();
+        chunk.clear();
+        return saved;
+    }
 
-        Alert alert = Alert.builder()
+    private static Alert toAlert(AlertDto alertDto, Customer user) {
+        return Alert.builder()
                 .title(alertDto.getTitle())
                 .description(alertDto.getDescription())
                 .type(alertDto.getType())
@@ -51,77 +185,124 @@ public class AlertService {
                 .status(Alert.AlertStatus.ACTIVE)
                 .severity(alertDto.getSeverity())
                 .build();
-        webSocketController.notifyNearbyUsers(alert);
-        return mapToResponseDto(alertRepository.save(alert));
     }
 
-    public AlertResponseDto updateAlert(Long id, AlertDto alertDto, String email) {
-        Customer user = customerRepository.findCustomerByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-        Alert alert = alertRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
-
-        if (!alert.getUser().getId().equals(user.getId())) {
-            throw new InsufficientAuthenticationException("Not authorized to update this alert");
+    // Stopped on commit so the latency covers flushing the alert and its outbox row, not just building them
+    private void recordCreationAfterCommit(Timer.Sample sample) {
+        Timer timer = Timer.builder("alerts.create")
+                .description("Time to persist a new alert and its outbox entry")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sample.stop(timer);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sample.stop(timer);
+            }
+        });
+    }
 
-        alert.setTitle(alertDto.getTitle());
-        alert.setDescription(alertDto.getDescription());
-        alert.setType(alertDto.getType());
-        alert.setLatitude(alertDto.getLatitude());
-        alert.setLongitude(alertDto.getLongitude());
-        alert.setSeverity(alertDto.getSeverity());
-        alert.setUpdatedAt(LocalDateTime.now());
-
-        return mapToResponseDto(alertRepository.save(alert));
+    // Ownership is checked inside each UPDATE/DELETE, and the updates return the response row
+    // themselves; only a miss costs a second query to tell 404 from 403
+    @Transactional
+    public AlertResponseDto updateAlert(Long id, AlertDto alertDto, String email) {
+        AlertSummaryView updated = alertRepository.updateIfOwner(
+                id,
+                email,
+                alertDto.getTitle(),
+                alertDto.getDescription(),
+                nameOf(alertDto.getType()),
+                alertDto.getLatitude(),
+                alertDto.getLongitude(),
+                nameOf(alertDto.getSeverity()),
+                LocalDateTime.now()
+        ).orElseThrow(() -> missingOrForbidden(id, "Not authorized to update this alert"));
+        return mapToResponseDto(updated);
     }
 
+    @Transactional
     public void deleteAlert(Long id, String email) {
-        Customer user = customerRepository.findCustomerByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-        Alert alert = alertRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
+        int deleted = alertRepository.deleteIfOwner(id, email);
+        requireOwnedAlert(deleted, id, "Not authorized to delete this alert");
+    }
 
-        if (!alert.getUser().getId().equals(user.getId())) {
-            throw new InsufficientAuthenticationException("Not authorized to delete this alert");
-        }
+    @Transactional
+    public AlertResponseDto updateAlertStatus(Long id, Alert.AlertStatus status, String email) {
+        AlertSummaryView updated = alertRepository.updateStatusIfOwner(id, email, nameOf(status), LocalDateTime.now())
+                .orElseThrow(() -> missingOrForbidden(id, "Not authorized to update this alert status"));
+        return mapToResponseDto(updated);
+    }
 
-        alertRepository.delete(alert);
+    // Native queries bind enums by name, the way the entity maps them
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
     }
 
-    public AlertResponseDto updateAlertStatus(Long id, Alert.AlertStatus status, String email) {
-        Customer user = customerRepository.findCustomerByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
-        Alert alert = alertRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
+    private void requireOwnedAlert(int affectedRows, Long id, String message) {
+        if (affectedRows == 0) {
+            throw missingOrForbidden(id, message);
+        }
+    }
 
-        if (!alert.getUser().getEmail().equals(email)) {
-            throw new InsufficientAuthenticationException("Not authorized to update this alert status");
+    private RuntimeException missingOrForbidden(Long id, String message) {
+        if (!alertRepository.existsById(id)) {
+            return new ResourceNotFoundException("Alert not found");
         }
+        return new InsufficientAuthenticationException(message);
+    }
+
+    public CursorPage<AlertResponseDto> getNearbyAlerts(Double latitude,
+                                                        Double longitude,
+                                                        Double radiusInKm,
+                                                        String cursor,
+                                                        int size) {
+        AlertCursor after = AlertCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusInKm).normalized();
 
-        alert.setStatus(status);
-        alert.setUpdatedAt(LocalDateTime.now());
-        return mapToResponseDto(alertRepository.save(alert));
+        // Fetch one extra row to learn whether another page follows
+        List<AlertSummaryView> alerts = alertRepository.findNearbyAlerts(
+                latitude,
+                longitude,
+                radiusInKm,
+                box.minLatitude(),
+                box.maxLatitude(),
+                box.minLongitude(),
+                box.maxLongitude(),
+                after.createdAt(),
+                after.id(),
+                pageSize + 1
+        );
+        return toCursorPage(alerts, pageSize);
     }
 
-    public List<AlertResponseDto> getNearbyAlerts(Double latitude, Double longitude, Double radiusInKm) {
-        return alertRepository.findNearbyAlerts(latitude, longitude, radiusInKm)
-                .stream()
-                .map(this::mapToResponseDto)
-                .toList();
+    private CursorPage<AlertResponseDto> toCursorPage(List<AlertSummaryView> alerts, int pageSize) {
+        List<AlertSummaryView> page = alerts.size() > pageSize ? alerts.subList(0, pageSize) : alerts;
+        String nextCursor = null;
+        if (alerts.size() > pageSize) {
+            AlertSummaryView last = page.get(page.size() - 1);
+            nextCursor = new AlertCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(
+                page.stream().map(this::mapToResponseDto).toList(),
+                nextCursor
+        );
     }
 
     public List<AlertResponseDto> getUserAlerts(String email) {
-        Customer user = customerRepository.findCustomerByEmail(email)
+        CustomerPrincipal user = customerUserDetailsService.findPrincipalByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
 
-        return alertRepository.findByUserOrderByCreatedAtDesc(user)
+        return alertRepository.findSummariesByUserId(user.id())
                 .stream()
                 .map(this::mapToResponseDto)
                 .toList();
     }
 
-    private AlertResponseDto mapToResponseDto(Alert alert) {
+    AlertResponseDto mapToResponseDto(Alert alert) {
         return AlertResponseDto.builder()
                 .id(alert.getId())
                 .title(alert.getTitle())
@@ -137,11 +318,37 @@ public class AlertService {
                 .build();
     }
 
+    AlertResponseDto mapToResponseDto(AlertSummaryView alert) {
+        return AlertResponseDto.builder()
+                .id(alert.getId())
+                .title(alert.getTitle())
+                .description(alert.getDescription())
+                .type(alert.getType())
+                .status(alert.getStatus())
+                .latitude(alert.getLatitude())
+                .longitude(alert.getLongitude())
+                .user(new CustomerDTO(
+                        alert.getUserId(),
+                        alert.getUserName(),
+                        alert.getUserEmail(),
+                        alert.getUserGender(),
+                        alert.getUserAge(),
+                        alert.getUserRole() != null ? List.of(alert.getUserRole().name()) : List.of(),
+                        alert.getUserEmail(),
+                        alert.getUserProfileImageId()
+                ))
+                .createdAt(alert.getCreatedAt())
+                .updatedAt(alert.getUpdatedAt())
+                .severity(alert.getSeverity())
+                .build();
+    }
+
     public List<AlertResponseDto> getUserAlerts(Integer userId) {
-        Customer user = customerRepository.findCustomerById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
+        if (!customerRepository.existsCustomerById(userId)) {
+            throw new ResourceNotFoundException("Customer not found");
+        }
 
-        return alertRepository.findByUserOrderByCreatedAtDesc(user)
+        return alertRepository.findSummariesByUserId(userId)
                 .stream()
                 .map(this::mapToResponseDto)
                 .toList();
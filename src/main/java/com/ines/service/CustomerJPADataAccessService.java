@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,11 +36,21 @@ public class CustomerJPADataAccessService implements CustomerDao {
         customerRepository.save(customer);
     }
 
+    @Override
+    public void insertCustomers(List<Customer> customers) {
+        customerRepository.saveAll(customers);
+    }
+
     @Override
     public boolean existsCustomerWithEmail(String email) {
         return customerRepository.existsCustomerByEmail(email);
     }
 
+    @Override
+    public List<String> selectExistingEmails(Collection<String> emails) {
+        return customerRepository.findExistingEmails(emails);
+    }
+
     @Override
     public boolean existsCustomerById(Integer id) {
         return customerRepository.existsCustomerById(id);
@@ -3,6 +3,7 @@ package com.ines.service;
 import com.ines.dto.CustomerDTO;
 import com.ines.dto.CustomerRegistrationRequest;
 import com.ines.dto.CustomerUpdateRequest;
+import com.ines.event.CustomerChangedEvent;
 import com.ines.exception.DuplicateResourceException;
 import com.ines.exception.RequestValidationException;
 import com.ines.exception.ResourceNotFoundException;
@@ -12,34 +13,48 @@ import com.ines.repository.CustomerDao;
 import com.ines.s3.S3Buckets;
 import com.ines.s3.S3Service;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
+    static final int MAX_BATCH_SIZE = 1000;
 
     private final CustomerDao customerDao;
     private final CustomerDTOMapper customerDTOMapper;
     private final PasswordEncoder passwordEncoder;
     private final S3Service s3Service;
     private final S3Buckets s3Buckets;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor passwordHashExecutor;
 
     public CustomerService(CustomerDao customerDao,
                            CustomerDTOMapper customerDTOMapper,
                            PasswordEncoder passwordEncoder,
                            S3Service s3Service,
-                           S3Buckets s3Buckets) {
+                           S3Buckets s3Buckets,
+                           ApplicationEventPublisher eventPublisher,
+                           @Qualifier("passwordHashExecutor") Executor passwordHashExecutor) {
         this.customerDao = customerDao;
         this.customerDTOMapper = customerDTOMapper;
         this.passwordEncoder = passwordEncoder;
         this.s3Service = s3Service;
         this.s3Buckets = s3Buckets;
+        this.eventPublisher = eventPublisher;
+        this.passwordHashExecutor = passwordHashExecutor;
     }
 
     public List<CustomerDTO> getAllCustomers() {
@@ -67,21 +82,103 @@ public class CustomerService {
         }
 
         // add
-        Customer customer = Customer.builder()
-                .name(customerRegistrationRequest.name())
-                .email(customerRegistrationRequest.email())
-                .password(passwordEncoder.encode(customerRegistrationRequest.password()))
-                .age(customerRegistrationRequest.age())
-                .gender(customerRegistrationRequest.gender())
+        customerDao.insertCustomer(toCustomer(customerRegistrationRequest));
+    }
+
+    /**
+     * Registers a whole roster at once, e.g. a school or company rollout. Emails are checked
+     * in one query, passwords are hashed on a small dedicated pool, and the inserts go out as JDBC batches
+     * with ids drawn from pre-allocated sequence blocks. Nothing is saved if any email is taken.
+     */
+    public int addCustomers(List<CustomerRegistrationRequest> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new RequestValidationException(
+                    "at most %s customers can be registered at once".formatted(MAX_BATCH_SIZE)
+            );
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            requireComplete(requests.get(i), i + 1);
+        }
+
+        Set<String> emails = new HashSet<>();
+        for (CustomerRegistrationRequest request : requests) {
+            if (!emails.add(request.email())) {
+                throw new DuplicateResourceException(
+                        "email [%s] appears more than once".formatted(request.email())
+                );
+            }
+        }
+        List<String> taken = customerDao.selectExistingEmails(emails);
+        if (!taken.isEmpty()) {
+            throw new DuplicateResourceException(
+                    "emails already taken: %s".formatted(String.join(", ", taken))
+            );
+        }
+
+        // BCrypt dominates the cost of a registration; the pool bounds how many cores it can take
+        List<CompletableFuture<Customer>> hashing = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> toCustomer(request), passwordHashExecutor))
+                .toList();
+        List<Customer> customers = hashing.stream()
+                .map(CustomerService::joinHashing)
+                .toList();
+        customerDao.insertCustomers(customers);
+        return customers.size();
+    }
+
+    // Checked before any hashing starts, so a bad entry fails the batch with its position instead of a 500
+    private static void requireComplete(CustomerRegistrationRequest request, int position) {
+        if (request == null) {
+            throw new RequestValidationException("customer %s is empty".formatted(position));
+        }
+        if (StringUtils.isBlank(request.name())) {
+            throw new RequestValidationException("customer %s: name is required".formatted(position));
+        }
+        if (StringUtils.isBlank(request.email())) {
+            throw new RequestValidationException("customer %s: email is required".formatted(position));
+        }
+        if (StringUtils.isBlank(request.password())) {
+            throw new RequestValidationException("customer %s: password is required".formatted(position));
+        }
+        if (request.age() == null || request.gender() == null) {
+            throw new RequestValidationException("customer %s: age and gender are required".formatted(position));
+        }
+    }
+
+    // join() wraps whatever the hashing task threw; callers should see the original exception
+    private static Customer joinHashing(CompletableFuture<Customer> hashing) {
+        try {
+            return hashing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Customer toCustomer(CustomerRegistrationRequest request) {
+        return Customer.builder()
+                .name(request.name())
+                .email(request.email())
+                .password(passwordEncoder.encode(request.password()))
+                .age(request.age())
+                .gender(request.gender())
                 .role(Customer.Role.USER)
                 .build();
-
-        customerDao.insertCustomer(customer);
     }
 
     public void deleteCustomerById(Integer customerId) {
-        checkIfCustomerExistsOrThrow(customerId);
+        Customer customer = customerDao.selectCustomerById(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "customer with id [%s] not found".formatted(customerId)
+                ));
         customerDao.deleteCustomerById(customerId);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, customer.getEmail()));
     }
 
     private void checkIfCustomerExistsOrThrow(Integer customerId) {
@@ -100,6 +197,7 @@ public class CustomerService {
                         "customer with id [%s] not found".formatted(customerId)
                 ));
 
+        String previousEmail = customer.getEmail();
         boolean changes = false;
 
         if (updateRequest.name() != null && !updateRequest.name().equals(customer.getName())) {
@@ -127,6 +225,7 @@ public class CustomerService {
         }
 
         customerDao.updateCustomer(customer);
+        eventPublisher.publishEvent(new CustomerChangedEvent(customerId, previousEmail));
     }
 
     public void uploadCustomerProfileImage(Integer customerId,
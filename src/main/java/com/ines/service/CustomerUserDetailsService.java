@@ -1,21 +1,43 @@
 package com.ines.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ines.event.CustomerChangedEvent;
+import com.ines.model.CustomerPrincipal;
 import com.ines.repository.CustomerDao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
 
 @Service
 public class CustomerUserDetailsService implements UserDetailsService {
 
     private final CustomerDao customerDao;
+    private final Cache<String, CustomerPrincipal> principals;
 
-    public CustomerUserDetailsService(@Qualifier("jpa") CustomerDao customerDao) {
+    public CustomerUserDetailsService(@Qualifier("jpa") CustomerDao customerDao,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${customers.principal-cache.max-size:10000}") long maxSize,
+                                      @Value("${customers.principal-cache.ttl:PT5M}") Duration ttl) {
         this.customerDao = customerDao;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "customerPrincipals");
     }
 
+    // Login needs the full Customer entity, so this path stays uncached
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
@@ -23,4 +45,26 @@ public class CustomerUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "Username " + username + " not found"));
     }
+
+    public CustomerPrincipal loadPrincipalByUsername(String username)
+            throws UsernameNotFoundException {
+        return findPrincipalByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "Username " + username + " not found"));
+    }
+
+    public Optional<CustomerPrincipal> findPrincipalByEmail(String email) {
+        // Unknown emails map to null, which Caffeine does not store
+        return Optional.ofNullable(principals.get(
+                email,
+                key -> customerDao.selectUserByEmail(key)
+                        .map(CustomerPrincipal::from)
+                        .orElse(null)
+        ));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        principals.invalidate(event.email());
+    }
 }
@@ -0,0 +1,66 @@
+package com.ines.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.Duration;
+
+/**
+ * Keeps the location registry limited to users who are actually online: a user
+ * is dropped when their last STOMP session closes, and a periodic sweep evicts
+ * anyone whose position has not been refreshed within the TTL.
+ */
+@Service
+public class LocationExpiryService {
+
+    private final LocationRegistry locationRegistry;
+    private final LocationIngestionService locationIngestionService;
+    private final SimpUserRegistry simpUserRegistry;
+    private final Duration ttl;
+
+    public LocationExpiryService(LocationRegistry locationRegistry,
+                                 LocationIngestionService locationIngestionService,
+                                 SimpUserRegistry simpUserRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${location.ttl:PT10M}") Duration ttl) {
+        this.locationRegistry = locationRegistry;
+        this.locationIngestionService = locationIngestionService;
+        this.simpUserRegistry = simpUserRegistry;
+        this.ttl = ttl;
+        Gauge.builder("location.tracked.users", locationRegistry, LocationRegistry::trackedUsers)
+                .description("Users with a live position in the location registry")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user == null || hasOtherSession(user.getName(), event.getSessionId())) {
+            return;
+        }
+        locationIngestionService.forget(user.getName());
+        locationRegistry.removeUser(user.getName());
+    }
+
+    @Scheduled(fixedDelayString = "${location.sweep-interval:PT1M}")
+    public void evictIdleUsers() {
+        locationRegistry.evictIdleLongerThan(ttl);
+        locationIngestionService.evictIdleLongerThan(ttl);
+    }
+
+    // Another tab or device may still be connected under the same name
+    private boolean hasOtherSession(String username, String closedSessionId) {
+        SimpUser simpUser = simpUserRegistry.getUser(username);
+        return simpUser != null && simpUser.getSessions()
+                .stream()
+                .anyMatch(session -> !session.getId().equals(closedSessionId));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ines.service;
+
+import com.ines.geo.GeoDistance;
+import com.ines.model.GeoLocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers location pings between the STOMP handler and the {@link LocationRegistry}.
+ * Pings closer than the minimum distance to the last applied position are dropped,
+ * and a burst from one user collapses to its latest position, applied once per tick.
+ */
+@Service
+public class LocationIngestionService {
+
+    private final LocationRegistry locationRegistry;
+    private final double minDistanceMeters;
+    private final Duration refreshInterval;
+
+    private final Counter acceptedUpdates;
+    private final Counter droppedUpdates;
+    private final Counter rejectedUpdates;
+    private final Counter appliedUpdates;
+
+    private final Map<String, GeoLocation> pending = new ConcurrentHashMap<>();
+    private final Map<String, Applied> applied = new ConcurrentHashMap<>();
+
+    private record Applied(GeoLocation location, Instant at) {
+    }
+
+    public LocationIngestionService(LocationRegistry locationRegistry,
+                                    @Value("${location.ingest.min-distance-meters:10}") double minDistanceMeters,
+                                    @Value("${location.ingest.refresh-interval:PT2M}") Duration refreshInterval,
+                                    MeterRegistry meterRegistry) {
+        this.locationRegistry = locationRegistry;
+        this.minDistanceMeters = minDistanceMeters;
+        this.refreshInterval = refreshInterval;
+        this.acceptedUpdates = updateCounter(meterRegistry, "accepted");
+        this.droppedUpdates = updateCounter(meterRegistry, "dropped");
+        this.rejectedUpdates = updateCounter(meterRegistry, "rejected");
+        this.appliedUpdates = updateCounter(meterRegistry, "applied");
+    }
+
+    private static Counter updateCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("location.updates")
+                .description("Location pings received over STOMP, by what became of them")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public void submit(String username, GeoLocation location) {
+        // A missing or out-of-range coordinate would otherwise be stored as a real position
+        if (location == null || !location.isValid()) {
+            rejectedUpdates.increment();
+            return;
+        }
+        Applied last = applied.get(username);
+        // A stationary user still gets through once per refresh interval, keeping them clear of the idle TTL
+        if (last != null
+                && last.at().plus(refreshInterval).isAfter(Instant.now())
+                && GeoDistance.haversineMeters(
+                        last.location().latitude(),
+                        last.location().longitude(),
+                        location.latitude(),
+                        location.longitude()
+                ) < minDistanceMeters) {
+            droppedUpdates.increment();
+            return;
+        }
+        acceptedUpdates.increment();
+        pending.put(username, location);
+    }
+
+    @Scheduled(fixedDelayString = "${location.ingest.tick:PT1S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, GeoLocation> batch = new HashMap<>();
+        for (String username : pending.keySet()) {
+            // remove() hands over whatever arrived last, even if it raced with this loop
+            GeoLocation location = pending.remove(username);
+            if (location != null) {
+                batch.put(username, location);
+            }
+        }
+        locationRegistry.updateUserLocations(batch);
+        appliedUpdates.increment(batch.size());
+        Instant now = Instant.now();
+        batch.forEach((username, location) -> applied.put(username, new Applied(location, now)));
+    }
+
+    public void forget(String username) {
+        pending.remove(username);
+        applied.remove(username);
+    }
+
+    public void evictIdleLongerThan(Duration ttl) {
+        Instant cutoff = Instant.now().minus(ttl);
+        applied.values().removeIf(last -> last.at().isBefore(cutoff));
+    }
+}
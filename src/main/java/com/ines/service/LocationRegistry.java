@@ -0,0 +1,34 @@
+package com.ines.service;
+
+import com.ines.model.GeoLocation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Last known position of each connected user, queried when an alert is fanned out.
+ * Select the implementation with {@code location.registry}: {@code memory} keeps
+ * positions in this JVM only, {@code postgres} shares them between instances.
+ */
+public interface LocationRegistry {
+
+    void updateUserLocation(String username, GeoLocation location);
+
+    default void updateUserLocations(Map<String, GeoLocation> locations) {
+        locations.forEach(this::updateUserLocation);
+    }
+
+    void removeUser(String username);
+
+    Set<String> getNearbyUsers(double latitude, double longitude, double radiusKm);
+
+    /**
+     * Removes users whose position has not been updated for longer than {@code ttl}.
+     *
+     * @return the evicted usernames
+     */
+    Set<String> evictIdleLongerThan(Duration ttl);
+
+    long trackedUsers();
+}
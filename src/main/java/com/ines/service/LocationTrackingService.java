@@ -1,60 +1,85 @@
 package com.ines.service;
 
+import com.ines.geo.GeoDistance;
+import com.ines.geo.GeoGridIndex;
+import com.ines.geo.SlotBuffer;
 import com.ines.model.GeoLocation;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
-public class LocationTrackingService {
-    private final Map<String, GeoLocation> activeUsers = new ConcurrentHashMap<>();
+@ConditionalOnProperty(name = "location.registry", havingValue = "memory", matchIfMissing = true)
+public class LocationTrackingService implements LocationRegistry {
+    static final double DEFAULT_CELL_SIZE_DEGREES = 0.05; // ~5.5 km of latitude
 
+    private final GeoGridIndex activeUsers;
+    // Query results land in a per-thread primitive buffer; only the returned set is allocated
+    private final ThreadLocal<SlotBuffer> queryBuffers = ThreadLocal.withInitial(SlotBuffer::new);
+    private final DistributionSummary candidatesExamined;
+
+    public LocationTrackingService() {
+        this(DEFAULT_CELL_SIZE_DEGREES, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public LocationTrackingService(
+            @Value("${location.grid.cell-size-degrees:0.05}") double cellSizeDegrees,
+            MeterRegistry meterRegistry) {
+        this.activeUsers = new GeoGridIndex(cellSizeDegrees);
+        this.candidatesExamined = DistributionSummary.builder("location.nearby.candidates")
+                .description("Tracked users examined by a nearby-user query before the distance check")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
     public void updateUserLocation(String username, GeoLocation location) {
-        activeUsers.put(username, location);
+        activeUsers.put(username, location.latitude(), location.longitude());
     }
 
-    public Set<String> getNearbyUsers(double latitude, double longitude, double radiusKm) {
-        return activeUsers.entrySet().stream()
-                .filter(entry -> isWithinRadius(
-                        entry.getValue(),
-                        latitude,
-                        longitude,
-                        radiusKm
-                ))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-    }
-
-    private boolean isWithinRadius(GeoLocation userLocation, double lat, double lng, double radiusKm) {
-        double radiusMeters = radiusKm * 1000;
-        double distance = calculateDistance(
-                userLocation.latitude(),
-                userLocation.longitude(),
-                lat,
-                lng
-        );
-        return distance <= radiusMeters;
+    @Override
+    public void removeUser(String username) {
+        activeUsers.remove(username);
     }
 
-    double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Earth's radius in kilometers
+    @Override
+    public Set<String> evictIdleLongerThan(Duration ttl) {
+        return new HashSet<>(activeUsers.evictUpdatedBefore(System.currentTimeMillis() - ttl.toMillis()));
+    }
 
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
+    @Override
+    public long trackedUsers() {
+        return activeUsers.size();
+    }
 
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+    @Override
+    public Set<String> getNearbyUsers(double latitude, double longitude, double radiusKm) {
+        SlotBuffer buffer = queryBuffers.get();
+        buffer.clear();
+        activeUsers.findWithin(latitude, longitude, radiusKm, buffer);
+        candidatesExamined.record(buffer.candidates());
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        Set<String> nearbyUsers = new HashSet<>(Math.max(16, buffer.size() * 2));
+        for (int i = 0; i < buffer.size(); i++) {
+            String username = activeUsers.keyAt(buffer.slot(i), buffer.generation(i));
+            if (username != null) {
+                nearbyUsers.add(username);
+            }
+        }
+        return nearbyUsers;
+    }
 
-        // Convert to meters
-        return R * c * 1000;
+    double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        return GeoDistance.haversineMeters(lat1, lon1, lat2, lon2);
     }
 
 }
@@ -0,0 +1,89 @@
+package com.ines.service;
+
+import com.ines.model.GeoLocation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Location registry shared by every instance through the user_location table,
+ * so the node relaying an alert also sees users connected to the other nodes.
+ */
+@Service
+@ConditionalOnProperty(name = "location.registry", havingValue = "postgres")
+public class PostgresLocationRegistry implements LocationRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresLocationRegistry(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private static final String UPSERT = """
+            INSERT INTO user_location (username, latitude, longitude, updated_at)
+            VALUES (?, ?, ?, now())
+            ON CONFLICT (username) DO UPDATE
+            SET latitude = EXCLUDED.latitude,
+                longitude = EXCLUDED.longitude,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    @Override
+    public void updateUserLocation(String username, GeoLocation location) {
+        jdbcTemplate.update(UPSERT, username, location.latitude(), location.longitude());
+    }
+
+    // One JDBC batch per ingestion tick instead of a round-trip per user
+    @Override
+    public void updateUserLocations(Map<String, GeoLocation> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, locations.entrySet()
+                .stream()
+                .map(entry -> new Object[]{
+                        entry.getKey(),
+                        entry.getValue().latitude(),
+                        entry.getValue().longitude()
+                })
+                .toList());
+    }
+
+    @Override
+    public void removeUser(String username) {
+        jdbcTemplate.update("DELETE FROM user_location WHERE username = ?", username);
+    }
+
+    @Override
+    public Set<String> getNearbyUsers(double latitude, double longitude, double radiusKm) {
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                SELECT username FROM user_location
+                WHERE ST_DWithin(
+                    geog,
+                    CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography),
+                    ? * 1000
+                )
+                """, String.class, longitude, latitude, radiusKm));
+    }
+
+    // The cutoff is computed by the database so instance clocks do not need to agree
+    @Override
+    public Set<String> evictIdleLongerThan(Duration ttl) {
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                DELETE FROM user_location
+                WHERE updated_at < now() - make_interval(secs => ?)
+                RETURNING username
+                """, String.class, (double) ttl.toSeconds()));
+    }
+
+    @Override
+    public long trackedUsers() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM user_location", Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- Shared location registry for multi-instance deployments (location.registry=postgres).
+-- Positions are re-sent by connected clients, so the table is UNLOGGED: cheaper writes,
+-- emptied after a crash.
+CREATE UNLOGGED TABLE IF NOT EXISTS user_location (
+    username   VARCHAR(255) PRIMARY KEY,
+    latitude   DOUBLE PRECISION NOT NULL,
+    longitude  DOUBLE PRECISION NOT NULL,
+    geog       geography(Point, 4326)
+        GENERATED ALWAYS AS (ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography) STORED,
+    updated_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_location_geog ON user_location USING GIST (geog);
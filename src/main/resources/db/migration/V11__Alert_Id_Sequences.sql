@@ -0,0 +1,14 @@
+-- Alert and outbox ids come from sequences stepping by 50: Hibernate reserves a block of ids
+-- per nextval (pooled-lo) and can batch inserts, which an identity column rules out.
+-- Plain SQL inserts still take nextval through the column default and never hit a reserved id.
+ALTER TABLE alerts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS alerts_id_seq OWNED BY alerts.id;
+ALTER SEQUENCE alerts_id_seq INCREMENT BY 50;
+SELECT setval('alerts_id_seq', COALESCE((SELECT MAX(id) FROM alerts), 0) + 1, false);
+ALTER TABLE alerts ALTER COLUMN id SET DEFAULT nextval('alerts_id_seq');
+
+ALTER TABLE alert_outbox ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS alert_outbox_id_seq OWNED BY alert_outbox.id;
+ALTER SEQUENCE alert_outbox_id_seq INCREMENT BY 50;
+SELECT setval('alert_outbox_id_seq', COALESCE((SELECT MAX(id) FROM alert_outbox), 0) + 1, false);
+ALTER TABLE alert_outbox ALTER COLUMN id SET DEFAULT nextval('alert_outbox_id_seq');
@@ -0,0 +1,9 @@
+-- Customer ids come from customer_id_seq alone, stepping by 50 so Hibernate (pooled-lo)
+-- reserves a block per nextval instead of one round-trip per registration.
+-- Dropping the identity also drops its implicit sequence, which may be the customer_id_seq
+-- create_tables.sql meant to add, so the sequence is recreated and reset from the data.
+ALTER TABLE customer ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS customer_id_seq OWNED BY customer.id;
+ALTER SEQUENCE customer_id_seq INCREMENT BY 50 CACHE 1;
+SELECT setval('customer_id_seq', COALESCE((SELECT MAX(id) FROM customer), 0) + 1, false);
+ALTER TABLE customer ALTER COLUMN id SET DEFAULT nextval('customer_id_seq');
@@ -0,0 +1,3 @@
+-- Set when a relay claims an entry; entries are sent outside the claiming transaction and deleted
+-- one by one once delivered, so only entries whose claim has gone stale are picked up again
+ALTER TABLE alert_outbox ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
@@ -0,0 +1,19 @@
+-- Tokens carry the version they were issued at (the "ver" claim); bumping it here
+-- invalidates every outstanding token of a customer whose role or password changed.
+-- A trigger rather than application code, so changes made straight in SQL count too;
+-- bumping the column by hand revokes a customer's tokens outright.
+ALTER TABLE customer ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION bump_customer_token_version() RETURNS trigger AS $$
+BEGIN
+    IF NEW.role IS DISTINCT FROM OLD.role OR NEW.password IS DISTINCT FROM OLD.password THEN
+        NEW.token_version := OLD.token_version + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS customer_token_version ON customer;
+CREATE TRIGGER customer_token_version
+    BEFORE UPDATE ON customer
+    FOR EACH ROW EXECUTE FUNCTION bump_customer_token_version();
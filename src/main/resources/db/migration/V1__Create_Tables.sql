@@ -0,0 +1,42 @@
+-- Baseline schema, formerly the unversioned create_tables.sql. Databases created from that
+-- script were baselined at version 1 and skip this migration.
+-- Enums are stored as VARCHAR, matching the @Enumerated(EnumType.STRING) mappings.
+CREATE TABLE IF NOT EXISTS customer (
+    id               INTEGER PRIMARY KEY GENERATED BY DEFAULT AS IDENTITY,
+    name             VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL,
+    age              INTEGER NOT NULL,
+    gender           VARCHAR(255) NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    profile_image_id VARCHAR(255),
+    CONSTRAINT customer_email_unique UNIQUE (email),
+    CONSTRAINT profile_image_id_unique UNIQUE (profile_image_id)
+);
+
+CREATE TABLE IF NOT EXISTS alerts (
+    id          BIGINT PRIMARY KEY GENERATED BY DEFAULT AS IDENTITY,
+    title       VARCHAR(255) NOT NULL,
+    description TEXT NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    latitude    DOUBLE PRECISION NOT NULL,
+    longitude   DOUBLE PRECISION NOT NULL,
+    user_id     INTEGER NOT NULL,
+    created_at  TIMESTAMP NOT NULL,
+    updated_at  TIMESTAMP,
+    status      VARCHAR(255) NOT NULL DEFAULT 'ACTIVE',
+    severity    VARCHAR(255) NOT NULL DEFAULT 'MEDIUM',
+    CONSTRAINT fk_customer
+        FOREIGN KEY (user_id)
+            REFERENCES customer(id)
+            ON DELETE CASCADE
+);
+
+-- Placeholder owners for the demo alerts inserted by V3, which reference customers 1-3.
+-- '!' is not a BCrypt hash, so these accounts can never log in. They cannot move to their own
+-- migration: anything versioned between V1 and V3 would be out of order for existing databases.
+INSERT INTO customer (id, name, email, age, gender, password)
+VALUES
+    (1, 'Marie Weber', 'marie.weber@ines.com', 34, 'FEMALE', '!'),
+    (2, 'Luc Schmit', 'luc.schmit@ines.com', 41, 'MALE', '!'),
+    (3, 'Anne Muller', 'anne.muller@ines.com', 27, 'FEMALE', '!')
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- Geography point derived from latitude/longitude, so it can never drift out of sync
+ALTER TABLE alerts
+    ADD COLUMN IF NOT EXISTS geog geography(Point, 4326)
+        GENERATED ALWAYS AS (ST_SetSRID(ST_MakePoint(longitude, latitude), 4326)::geography) STORED;
+
+-- GiST index serving ST_DWithin radius lookups
+CREATE INDEX IF NOT EXISTS idx_alert_geog ON alerts USING GIST (geog);
@@ -0,0 +1,4 @@
+-- Supports keyset pagination on (created_at, id) over active alerts
+CREATE INDEX IF NOT EXISTS idx_alert_active_created_id
+    ON alerts (created_at DESC, id DESC)
+    WHERE status = 'ACTIVE';
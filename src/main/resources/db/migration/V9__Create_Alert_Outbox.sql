@@ -0,0 +1,12 @@
+-- Alerts waiting to be pushed to WebSocket subscribers, written in the same transaction as the alert
+CREATE TABLE IF NOT EXISTS alert_outbox (
+    id BIGINT PRIMARY KEY GENERATED BY DEFAULT AS IDENTITY,
+    alert_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT fk_alert_outbox_alert
+        FOREIGN KEY (alert_id)
+            REFERENCES alerts(id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_alert_outbox_alert_id ON alert_outbox (alert_id);
@@ -0,0 +1,58 @@
+package com.ines.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogListenerTest {
+
+    private final SlowQueryLogListener listener = new SlowQueryLogListener(Duration.ofMillis(500));
+
+    @Test
+    void afterQuery_shouldLogSlowBatchWithoutParameters(CapturedOutput output) throws Exception {
+        // Arrange
+        QueryInfo insert = new QueryInfo("insert into customer (email, password) values (?, ?)");
+        insert.setParametersList(List.of(List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{1, "marie.weber@ines.com"}),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[]{2, "$2a$10$secret-hash"})
+        )));
+
+        // Act
+        listener.afterQuery(execution(750, true, 50), List.of(insert));
+
+        // Assert
+        assertThat(output).contains("Slow JDBC batch of 50 took 750 ms: insert into customer (email, password) values (?, ?)");
+        assertThat(output).doesNotContain("marie.weber@ines.com").doesNotContain("$2a$10$secret-hash");
+    }
+
+    @Test
+    void afterQuery_shouldIgnoreStatementsUnderThreshold(CapturedOutput output) {
+        // Act
+        listener.afterQuery(execution(499, false, 0), List.of(new QueryInfo("SELECT 1")));
+
+        // Assert
+        assertThat(output).doesNotContain("Slow JDBC");
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis, boolean batch, int batchSize) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setBatch(batch);
+        execution.setBatchSize(batchSize);
+        execution.setSuccess(true);
+        return execution;
+    }
+}
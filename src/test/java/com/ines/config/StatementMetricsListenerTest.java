@@ -0,0 +1,57 @@
+package com.ines.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementMetricsListenerTest {
+
+    private StatementMetricsListener listener;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        listener = new StatementMetricsListener();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void afterQuery_shouldTimeStatementByTypeAndBatch() {
+        // Arrange
+        listener.bindTo(meterRegistry);
+
+        // Act
+        listener.afterQuery(execution(12, true), List.of(new QueryInfo("insert into alerts (title) values (?)")));
+        listener.afterQuery(execution(3, false), List.of(new QueryInfo("SELECT * FROM alerts WHERE id = ?")));
+
+        // Assert
+        assertThat(meterRegistry.get("jdbc.statements").tags("type", "insert", "batch", "true").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+        assertThat(meterRegistry.get("jdbc.statements").tags("type", "select", "batch", "false").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void afterQuery_shouldIgnoreStatementsBeforeRegistryIsBound() {
+        // Act
+        listener.afterQuery(execution(5, false), List.of(new QueryInfo("SELECT 1")));
+
+        // Assert
+        assertThat(meterRegistry.find("jdbc.statements").timers()).isEmpty();
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis, boolean batch) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setBatch(batch);
+        execution.setSuccess(true);
+        return execution;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ines.controller;
+
+import com.ines.config.AsyncConfig;
+import com.ines.jwt.JWTUtil;
+import com.ines.repository.CustomerRepository;
+import com.ines.service.AlertService;
+import com.ines.service.CustomerUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AlertController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(AsyncConfig.class)
+class AlertControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AlertService alertService;
+
+    // Dependencies of the JWT filter and of Main's startup runner, which the web slice still loads
+    @MockBean
+    private JWTUtil jwtUtil;
+
+    @MockBean
+    private CustomerUserDetailsService customerUserDetailsService;
+
+    @MockBean
+    private CustomerRepository customerRepository;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void streamAlerts_shouldRunOnBoundedApplicationExecutor() throws Exception {
+        // Arrange
+        AtomicReference<String> exportThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            exportThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(alertService).streamAlerts(any(), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/v1/alerts/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(exportThread.get()).startsWith("web-async-");
+    }
+
+    @Test
+    void importAlerts_shouldRejectJsonArrayOverLimit() throws Exception {
+        // Arrange
+        String alert = "{\"title\":\"Road closed\",\"description\":\"A1\",\"type\":\"TRAFFIC\","
+                + "\"severity\":\"MEDIUM\",\"latitude\":49.63,\"longitude\":6.22}";
+        String body = "[" + String.join(",", Collections.nCopies(AlertController.MAX_JSON_IMPORT_SIZE + 1, alert)) + "]";
+
+        // Act + Assert
+        mockMvc.perform(post("/api/v1/alerts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(alertService);
+    }
+}
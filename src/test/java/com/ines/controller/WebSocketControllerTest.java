@@ -0,0 +1,99 @@
+package com.ines.controller;
+
+import com.ines.geo.GeoHash;
+import com.ines.mapper.AlertNotificationEncoder;
+import com.ines.model.Alert;
+import com.ines.service.LocationIngestionService;
+import com.ines.service.LocationRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WebSocketControllerTest {
+
+    private LocationRegistry locationRegistry;
+    private SimpMessagingTemplate messagingTemplate;
+    private AlertNotificationEncoder encoder;
+    private Message<byte[]> payload;
+    private Alert alert;
+
+    @BeforeEach
+    void setUp() {
+        locationRegistry = mock(LocationRegistry.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        encoder = mock(AlertNotificationEncoder.class);
+        payload = MessageBuilder.withPayload(new byte[0]).build();
+        alert = Alert.builder()
+                .id(1L)
+                .latitude(49.6117)
+                .longitude(6.1300)
+                .build();
+        when(encoder.encode(alert)).thenReturn(payload);
+        when(messagingTemplate.getUserDestinationPrefix()).thenReturn("/user/");
+    }
+
+    @Test
+    void notifyNearbyUsers_shouldSendToEachNearbyUserInUserMode() {
+        // Arrange
+        when(locationRegistry.getNearbyUsers(anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("a@example.com", "b@example.com"));
+
+        // Act
+        controller(WebSocketController.FanoutMode.USER).notifyNearbyUsers(alert);
+
+        // Assert
+        verify(messagingTemplate).send("/user/a@example.com/queue/nearby-alerts", payload);
+        verify(messagingTemplate).send("/user/b@example.com/queue/nearby-alerts", payload);
+        verify(messagingTemplate, never()).send(startsWith("/topic/area/"), any(Message.class));
+    }
+
+    @Test
+    void notifyNearbyUsers_shouldPublishOncePerCoveredAreaWithoutQueryingUsers() {
+        // Act
+        controller(WebSocketController.FanoutMode.AREA).notifyNearbyUsers(alert);
+
+        // Assert
+        verifyNoInteractions(locationRegistry);
+        verify(messagingTemplate).send(eq("/topic/area/" + GeoHash.encode(49.6117, 6.1300, 4)), eq(payload));
+        verify(messagingTemplate, never()).send(startsWith("/user/"), any(Message.class));
+        verify(encoder, times(1)).encode(alert);
+    }
+
+    @Test
+    void notifyNearbyUsers_shouldEncodeOnceInBothMode() {
+        // Arrange
+        when(locationRegistry.getNearbyUsers(anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("a@example.com"));
+
+        // Act
+        controller(WebSocketController.FanoutMode.BOTH).notifyNearbyUsers(alert);
+
+        // Assert
+        verify(messagingTemplate).send("/user/a@example.com/queue/nearby-alerts", payload);
+        verify(messagingTemplate, atLeastOnce()).send(startsWith("/topic/area/"), eq(payload));
+        verify(encoder, times(1)).encode(alert);
+    }
+
+    private WebSocketController controller(WebSocketController.FanoutMode mode) {
+        return new WebSocketController(
+                locationRegistry,
+                messagingTemplate,
+                mock(LocationIngestionService.class),
+                encoder,
+                new SimpleMeterRegistry(),
+                mode,
+                4
+        );
+    }
+}
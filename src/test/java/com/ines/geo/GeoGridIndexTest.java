@@ -0,0 +1,119 @@
+package com.ines.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoGridIndexTest {
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex(0.05);
+    }
+
+    @Test
+    void findWithin_shouldReturnKeysInNeighbouringCells() {
+        // Arrange
+        index.put("station", 49.5999, 6.1300); // just south of a cell border
+        index.put("centre", 49.6117, 6.1300);  // Luxembourg City
+        index.put("esch", 49.4977, 5.9800);    // ~17 km away
+
+        // Act
+        Set<String> nearby = index.findWithin(49.6117, 6.1300, 5);
+
+        // Assert
+        assertThat(nearby).containsExactlyInAnyOrder("station", "centre");
+    }
+
+    @Test
+    void put_shouldMoveKeyBetweenCells() {
+        // Arrange
+        index.put("user", 40.7128, -74.0060); // New York City
+
+        // Act
+        index.put("user", 34.0522, -118.2437); // Los Angeles
+
+        // Assert
+        assertThat(index.findWithin(40.7128, -74.0060, 10)).isEmpty();
+        assertThat(index.findWithin(34.0522, -118.2437, 10)).containsExactly("user");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_shouldDropKeyFromIndex() {
+        // Arrange
+        index.put("user", 40.7128, -74.0060);
+
+        // Act
+        index.remove("user");
+
+        // Assert
+        assertThat(index.findWithin(40.7128, -74.0060, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void findWithin_shouldHandleAntimeridian() {
+        // Arrange
+        index.put("fiji-east", -17.0, 179.99);
+        index.put("fiji-west", -17.0, -179.99);
+
+        // Act
+        Set<String> nearby = index.findWithin(-17.0, 179.999, 10);
+
+        // Assert
+        assertThat(nearby).containsExactlyInAnyOrder("fiji-east", "fiji-west");
+    }
+
+    @Test
+    void keyAt_shouldNotResolveSlotReleasedAfterQuery() {
+        // Arrange
+        index.put("leaving", 49.6117, 6.1300);
+        SlotBuffer buffer = new SlotBuffer();
+        index.findWithin(49.6117, 6.1300, 1, buffer);
+
+        // Act
+        index.remove("leaving");
+        index.put("joining", 40.7128, -74.0060); // reuses the released slot
+
+        // Assert
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(index.keyAt(buffer.slot(0), buffer.generation(0))).isNull();
+        assertThat(index.findWithin(40.7128, -74.0060, 1)).containsExactly("joining");
+    }
+
+    @Test
+    void put_shouldKeepEveryKeyWhenStorageGrows() {
+        // Arrange
+        for (int i = 0; i < 5000; i++) {
+            index.put("user" + i, 49.0 + (i % 100) * 0.001, 6.0 + (i / 100) * 0.001);
+        }
+
+        // Act
+        Set<String> nearby = index.findWithin(49.05, 6.025, 50);
+
+        // Assert
+        assertThat(index.size()).isEqualTo(5000);
+        assertThat(nearby).hasSize(5000);
+    }
+
+    @Test
+    void findWithin_shouldCountEveryExaminedCandidate() {
+        // Arrange
+        index.put("centre", 49.6117, 6.1300);
+        index.put("edge", 49.6100, 6.1450); // same cell, ~1.1 km east
+        SlotBuffer buffer = new SlotBuffer();
+
+        // Act
+        index.findWithin(49.6117, 6.1300, 0.5, buffer);
+
+        // Assert
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.candidates()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ines.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoHashTest {
+
+    @Test
+    void encode_shouldMatchReferenceHash() {
+        // Act & Assert
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(49.6117, 6.1300, 4)).isEqualTo("u0u6"); // Luxembourg City
+    }
+
+    @Test
+    void covering_shouldIncludeCellOfEveryPointInBox() {
+        // Arrange
+        GeoBoundingBox box = GeoBoundingBox.around(49.6117, 6.1300, 5);
+
+        // Act
+        List<String> cells = GeoHash.covering(box, 5);
+
+        // Assert
+        assertThat(cells).doesNotHaveDuplicates();
+        for (double latitude = box.minLatitude(); latitude <= box.maxLatitude(); latitude += 0.005) {
+            for (double longitude = box.minLongitude(); longitude <= box.maxLongitude(); longitude += 0.005) {
+                assertThat(cells).contains(GeoHash.encode(latitude, longitude, 5));
+            }
+        }
+    }
+
+    @Test
+    void covering_shouldWrapAroundAntimeridian() {
+        // Act
+        List<String> cells = GeoHash.covering(GeoBoundingBox.around(-17.0, 179.999, 10), 4);
+
+        // Assert
+        assertThat(cells).contains(GeoHash.encode(-17.0, 179.99, 4), GeoHash.encode(-17.0, -179.99, 4));
+    }
+
+    @Test
+    void encode_shouldRejectUnsupportedPrecision() {
+        // Act & Assert
+        assertThatThrownBy(() -> GeoHash.encode(0, 0, 13))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ines.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RadiusQueryTest {
+
+    @Test
+    void contains_shouldAgreeWithHaversine() {
+        // Arrange
+        Random random = new Random(42);
+        RadiusQuery query = new RadiusQuery(49.6117, 6.1300, 5);
+
+        for (int i = 0; i < 100_000; i++) {
+            double latitude = 49.6117 + (random.nextDouble() - 0.5) * 0.2;
+            double longitude = 6.1300 + (random.nextDouble() - 0.5) * 0.3;
+
+            // Act
+            boolean contained = query.contains(latitude, longitude);
+
+            // Assert
+            boolean expected = GeoDistance.haversineMeters(latitude, longitude, 49.6117, 6.1300) <= 5000;
+            assertThat(contained).as("(%s, %s)", latitude, longitude).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void contains_shouldMatchAcrossAntimeridian() {
+        // Arrange
+        RadiusQuery query = new RadiusQuery(-17.0, 179.999, 10);
+
+        // Act & Assert
+        assertThat(query.contains(-17.0, -179.99)).isTrue();
+        assertThat(query.contains(-17.0, 179.99)).isTrue();
+        assertThat(query.contains(-17.0, -179.0)).isFalse();
+    }
+
+    @Test
+    void contains_shouldDecideTinyRadiusWithHaversine() {
+        // Arrange
+        RadiusQuery query = new RadiusQuery(49.6117, 6.1300, 0.001); // 1 m
+
+        // Act & Assert
+        assertThat(query.contains(49.6117, 6.1300)).isTrue();
+        assertThat(query.contains(49.61171, 6.1300)).isFalse();
+    }
+}
@@ -0,0 +1,217 @@
+package com.ines.journey;
+
+import com.ines.Main;
+import com.ines.controller.WebSocketController;
+import com.ines.jwt.JWTUtil;
+import com.ines.model.Alert;
+import com.ines.model.GeoLocation;
+import com.ines.service.LocationRegistry;
+import com.ines.service.PostgresLocationRegistry;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@Testcontainers
+class BrokerRelayIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:15-3.3-alpine")
+                    .asCompatibleSubstituteFor("postgres")
+    );
+
+    private static final int STOMP_PORT = freePort();
+    private static final EmbeddedActiveMQ BROKER = startBroker();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGIS::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGIS::getUsername);
+        registry.add("spring.datasource.password", POSTGIS::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGIS::getDriverClassName);
+        registry.add("websocket.broker.mode", () -> "relay");
+        registry.add("websocket.broker.relay.port", () -> STOMP_PORT);
+        registry.add("location.registry", () -> "postgres");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @Autowired
+    private LocationRegistry locationRegistry;
+
+    @Autowired
+    private WebSocketController webSocketController;
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        BROKER.stop();
+    }
+
+    @Test
+    void nearbyAlertIsDeliveredThroughRelayToUserQueue() throws Exception {
+        // Given
+        String email = "admin@example.com";
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        StompSession session = connectAndSubscribe(port, email, received);
+        locationRegistry.updateUserLocation(email, new GeoLocation(49.6117, 6.1300));
+
+        // When
+        String message = notifyUntilReceived(webSocketController, alert("Relayed alert"), received);
+
+        // Then
+        assertThat(locationRegistry).isInstanceOf(PostgresLocationRegistry.class);
+        assertThat(message).contains("Relayed alert");
+        session.disconnect();
+    }
+
+    @Test
+    void alertPublishedOnOneNodeReachesUserConnectedToAnother() throws Exception {
+        // Given: a second instance sharing the database and broker, holding the user's session
+        try (ConfigurableApplicationContext nodeB = startSecondNode()) {
+            int nodeBPort = ((WebServerApplicationContext) nodeB).getWebServer().getPort();
+            String email = "admin@example.com";
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            StompSession session = connectAndSubscribe(nodeBPort, email, received);
+            locationRegistry.updateUserLocation(email, new GeoLocation(49.6117, 6.1300));
+
+            // When: this node, which has no session for the user, fans the alert out
+            String message = notifyUntilReceived(webSocketController, alert("Cross-node alert"), received);
+
+            // Then
+            assertThat(message).contains("Cross-node alert");
+            session.disconnect();
+        }
+    }
+
+    private ConfigurableApplicationContext startSecondNode() {
+        return new SpringApplicationBuilder(Main.class)
+                .properties(
+                        "spring.datasource.url=" + POSTGIS.getJdbcUrl(),
+                        "spring.datasource.username=" + POSTGIS.getUsername(),
+                        "spring.datasource.password=" + POSTGIS.getPassword(),
+                        "spring.datasource.driver-class-name=" + POSTGIS.getDriverClassName(),
+                        "websocket.broker.mode=relay",
+                        "websocket.broker.relay.port=" + STOMP_PORT,
+                        "location.registry=postgres",
+                        "spring.main.banner-mode=off",
+                        "server.port=0"
+                )
+                .run();
+    }
+
+    private StompSession connectAndSubscribe(int serverPort, String email, BlockingQueue<String> received)
+            throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new ByteArrayMessageConverter());
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + jwtUtil.issueToken(email, "ADMIN"));
+        StompSession session = stompClient.connectAsync(
+                "ws://localhost:" + serverPort + "/ws-alerts",
+                new WebSocketHttpHeaders(),
+                connectHeaders,
+                new StompSessionHandlerAdapter() {
+                }
+        ).get(10, TimeUnit.SECONDS);
+
+        session.subscribe("/user/queue/nearby-alerts", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        });
+        return session;
+    }
+
+    // Retried until the broker has registered the subscription and, across nodes,
+    // the user registry broadcast has reached the publishing node
+    private static String notifyUntilReceived(WebSocketController controller,
+                                              Alert alert,
+                                              BlockingQueue<String> received) throws InterruptedException {
+        String message = null;
+        for (int attempt = 0; attempt < 40 && message == null; attempt++) {
+            controller.notifyNearbyUsers(alert);
+            message = received.poll(500, TimeUnit.MILLISECONDS);
+        }
+        return message;
+    }
+
+    private static Alert alert(String title) {
+        return Alert.builder()
+                .id(99L)
+                .title(title)
+                .description("Delivered through the external broker")
+                .type(Alert.AlertType.HAZARD)
+                .severity(Alert.Severity.HIGH)
+                .status(Alert.AlertStatus.ACTIVE)
+                .latitude(49.6120)
+                .longitude(6.1305)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static EmbeddedActiveMQ startBroker() {
+        try {
+            EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+            broker.setConfiguration(new ConfigurationImpl()
+                    .setPersistenceEnabled(false)
+                    .setSecurityEnabled(false)
+                    .addAcceptorConfiguration("stomp", "tcp://localhost:" + STOMP_PORT
+                            + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/"));
+            broker.start();
+            return broker;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start embedded Artemis", e);
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
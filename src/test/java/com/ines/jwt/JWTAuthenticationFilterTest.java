@@ -0,0 +1,92 @@
+package com.ines.jwt;
+
+import com.ines.model.Customer;
+import com.ines.model.CustomerPrincipal;
+import com.ines.service.CustomerUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JWTAuthenticationFilterTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private JWTUtil jwtUtil;
+    private CustomerUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JWTUtil(100, new SimpleMeterRegistry());
+        userDetailsService = mock(CustomerUserDetailsService.class);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_shouldTakeAuthoritiesFromTokenScopes() throws Exception {
+        when(userDetailsService.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(principal(2)));
+
+        Authentication authentication = authenticate(true, jwtUtil.issueToken(EMAIL, 2, List.of("ADMIN")));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ADMIN");
+    }
+
+    @Test
+    void statelessMode_shouldRejectTokenIssuedBeforeVersionBump() throws Exception {
+        when(userDetailsService.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(principal(3)));
+
+        assertThat(authenticate(true, jwtUtil.issueToken(EMAIL, 2, List.of("ADMIN")))).isNull();
+    }
+
+    @Test
+    void statelessMode_shouldRejectTokenOfDeletedCustomer() throws Exception {
+        when(userDetailsService.findPrincipalByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThat(authenticate(true, jwtUtil.issueToken(EMAIL, 0, List.of("USER")))).isNull();
+    }
+
+    @Test
+    void defaultMode_shouldRejectTokenIssuedBeforeVersionBump() throws Exception {
+        when(userDetailsService.findPrincipalByEmail(EMAIL)).thenReturn(Optional.of(principal(1)));
+
+        assertThat(authenticate(false, jwtUtil.issueToken(EMAIL, "USER"))).isNull();
+        assertThat(authenticate(false, jwtUtil.issueToken(EMAIL, 1, List.of("USER"))))
+                .extracting(Authentication::getPrincipal)
+                .isEqualTo(principal(1));
+    }
+
+    private Authentication authenticate(boolean stateless, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        new JWTAuthenticationFilter(jwtUtil, userDetailsService, stateless)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static CustomerPrincipal principal(int tokenVersion) {
+        return new CustomerPrincipal(1, EMAIL, Customer.Role.USER, "hashed", tokenVersion);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ines.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class JWTChannelInterceptorTest {
+
+    private JWTUtil jwtUtil;
+    private JWTChannelInterceptor interceptor;
+    private MessageChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JWTUtil(100, new SimpleMeterRegistry());
+        interceptor = new JWTChannelInterceptor(jwtUtil);
+        channel = mock(MessageChannel.class);
+    }
+
+    @Test
+    void preSend_shouldSetTokenSubjectAsSessionUserOnConnect() {
+        String token = jwtUtil.issueToken("user@example.com", "USER");
+
+        Message<?> message = interceptor.preSend(connect("Bearer " + token), channel);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        assertThat(accessor.getUser()).isNotNull();
+        assertThat(accessor.getUser().getName()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void preSend_shouldRejectConnectWithoutToken() {
+        assertThatThrownBy(() -> interceptor.preSend(connect(null), channel))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectConnectWithForgedToken() {
+        assertThatThrownBy(() -> interceptor.preSend(connect("Bearer not-a-jwt"), channel))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void preSend_shouldIgnoreFramesOtherThanConnect() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        assertThat(interceptor.preSend(message, channel)).isSameAs(message);
+    }
+
+    private static Message<byte[]> connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.addNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,64 @@
+package com.ines.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTUtilTest {
+
+    private JWTUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JWTUtil(100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isTokenValid_shouldAcceptTokenForItsSubject() {
+        String token = jwtUtil.issueToken("user@example.com", "USER");
+
+        assertThat(jwtUtil.isTokenValid(token, "user@example.com")).isTrue();
+        assertThat(jwtUtil.isTokenValid(token, "other@example.com")).isFalse();
+    }
+
+    @Test
+    void getClaims_shouldReuseVerifiedClaimsForSameToken() {
+        String token = jwtUtil.issueToken("user@example.com", "USER");
+
+        Claims first = jwtUtil.getClaims(token);
+        Claims second = jwtUtil.getClaims(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void getScopes_shouldReturnScopesIssuedWithToken() {
+        String token = jwtUtil.issueToken("admin@example.com", List.of("ADMIN"));
+
+        assertThat(jwtUtil.getScopes(jwtUtil.getClaims(token))).containsExactly("ADMIN");
+    }
+
+    @Test
+    void getClaims_shouldRejectTamperedToken() {
+        String token = jwtUtil.issueToken("user@example.com", "USER");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThatThrownBy(() -> jwtUtil.getClaims(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void getTokenVersion_shouldReturnVersionIssuedWithToken() {
+        String versioned = jwtUtil.issueToken("user@example.com", 3, List.of("USER"));
+        String unversioned = jwtUtil.issueToken("user@example.com", "USER");
+
+        assertThat(jwtUtil.getTokenVersion(jwtUtil.getClaims(versioned))).isEqualTo(3);
+        assertThat(jwtUtil.getTokenVersion(jwtUtil.getClaims(unversioned))).isZero();
+    }
+}
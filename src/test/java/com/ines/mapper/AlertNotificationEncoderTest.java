@@ -0,0 +1,47 @@
+package com.ines.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ines.model.Alert;
+import com.ines.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertNotificationEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AlertNotificationEncoder encoder = new AlertNotificationEncoder(objectMapper);
+
+    @Test
+    void encode_shouldWriteCompactJsonWithoutOwner() throws Exception {
+        // Arrange
+        Alert alert = Alert.builder()
+                .id(7L)
+                .title("Road closed")
+                .description("Bridge works")
+                .type(Alert.AlertType.TRAFFIC)
+                .severity(Alert.Severity.MEDIUM)
+                .status(Alert.AlertStatus.ACTIVE)
+                .latitude(49.6117)
+                .longitude(6.1300)
+                .user(Customer.builder().id(1).email("owner@example.com").password("secret").build())
+                .createdAt(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .build();
+
+        // Act
+        Message<byte[]> message = encoder.encode(alert);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(message.getPayload());
+        assertThat(json.get("id").asLong()).isEqualTo(7L);
+        assertThat(json.get("type").asText()).isEqualTo("TRAFFIC");
+        assertThat(json.has("user")).isFalse();
+        assertThat(message.getHeaders().get(MessageHeaders.CONTENT_TYPE)).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,229 @@
+package com.ines.repository;
+
+import com.ines.dto.AlertCursor;
+import com.ines.dto.AlertSummaryView;
+import com.ines.geo.GeoBoundingBox;
+import com.ines.model.Alert;
+import com.ines.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+@Transactional
+class AlertRepositoryIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:15-3.3-alpine")
+                    .asCompatibleSubstituteFor("postgres")
+    );
+
+    @DynamicPropertySource
+    static void postgisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGIS::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGIS::getUsername);
+        registry.add("spring.datasource.password", POSTGIS::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGIS::getDriverClassName);
+    }
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Alert luxembourgCity;
+
+    @BeforeEach
+    void setUp() {
+        Customer admin = customerRepository.findCustomerByEmail("admin@example.com").orElseThrow();
+        // Start from an empty table rather than the demo alerts seeded by the migrations
+        jdbcTemplate.update("DELETE FROM alerts");
+
+        luxembourgCity = alertRepository.save(alert("Luxembourg City", 49.6117, 6.1300, admin));
+        alertRepository.save(alert("Esch-sur-Alzette", 49.4977, 5.9800, admin));
+        alertRepository.save(alert("Clervaux", 49.8786, 6.0347, admin));
+        alertRepository.flush();
+    }
+
+    @Test
+    void findNearbyAlerts_shouldOnlyReturnAlertsWithinRadius() {
+        List<AlertSummaryView> alerts = findNearby(49.6100, 6.1290, 5.0, AlertCursor.FIRST, 10);
+
+        assertThat(alerts)
+                .extracting(AlertSummaryView::getId)
+                .containsExactly(luxembourgCity.getId());
+        assertThat(alerts.get(0).getUserEmail()).isEqualTo("admin@example.com");
+        assertThat(alerts.get(0).getType()).isEqualTo(Alert.AlertType.HAZARD);
+    }
+
+    @Test
+    void findNearbyAlerts_shouldPageByCreatedAtAndId() {
+        List<AlertSummaryView> firstPage = findNearby(49.6117, 6.1300, 50.0, AlertCursor.FIRST, 2);
+        AlertSummaryView last = firstPage.get(firstPage.size() - 1);
+        List<AlertSummaryView> secondPage = findNearby(49.6117, 6.1300, 50.0,
+                new AlertCursor(last.getCreatedAt(), last.getId()), 2);
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage)
+                .extracting(AlertSummaryView::getId)
+                .doesNotContainAnyElementsOf(firstPage.stream().map(AlertSummaryView::getId).toList());
+    }
+
+    @Test
+    void findSummariesByUserId_shouldReturnOwnerColumnsWithoutLoadingCustomer() {
+        Customer admin = customerRepository.findCustomerByEmail("admin@example.com").orElseThrow();
+
+        List<AlertSummaryView> alerts = alertRepository.findSummariesByUserId(admin.getId());
+
+        assertThat(alerts).hasSize(3);
+        assertThat(alerts).allSatisfy(alert -> {
+            assertThat(alert.getUserId()).isEqualTo(admin.getId());
+            assertThat(alert.getUserEmail()).isEqualTo("admin@example.com");
+        });
+    }
+
+    @Test
+    void updateStatusIfOwner_shouldReturnUpdatedRowOnlyToOwner() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<AlertSummaryView> stranger = alertRepository.updateStatusIfOwner(
+                luxembourgCity.getId(), "someone@example.com", "RESOLVED", now);
+        Optional<AlertSummaryView> owner = alertRepository.updateStatusIfOwner(
+                luxembourgCity.getId(), "admin@example.com", "RESOLVED", now);
+
+        assertThat(stranger).isEmpty();
+        assertThat(owner).hasValueSatisfying(alert -> {
+            assertThat(alert.getStatus()).isEqualTo(Alert.AlertStatus.RESOLVED);
+            assertThat(alert.getType()).isEqualTo(Alert.AlertType.HAZARD);
+            assertThat(alert.getUserEmail()).isEqualTo("admin@example.com");
+        });
+    }
+
+    @Test
+    void findSummaryPage_shouldFilterAndPageByCreatedAtAndId() {
+        AlertCursor first = AlertCursor.FIRST;
+        List<AlertSummaryView> firstPage = alertRepository.findSummaryPage(
+                Alert.AlertStatus.ACTIVE, Alert.AlertType.HAZARD, null, null, null,
+                first.createdAt(), first.id(), PageRequest.ofSize(2));
+        AlertSummaryView last = firstPage.get(firstPage.size() - 1);
+        List<AlertSummaryView> secondPage = alertRepository.findSummaryPage(
+                Alert.AlertStatus.ACTIVE, Alert.AlertType.HAZARD, null, null, null,
+                last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+        List<AlertSummaryView> resolved = alertRepository.findSummaryPage(
+                Alert.AlertStatus.RESOLVED, null, null, null, null,
+                first.createdAt(), first.id(), PageRequest.ofSize(2));
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(resolved).isEmpty();
+    }
+
+    @Test
+    void streamSummaries_shouldReturnEveryMatchingAlert() {
+        try (Stream<AlertSummaryView> alerts = alertRepository.streamSummaries(
+                Alert.AlertStatus.ACTIVE, null, null, null, null)) {
+            assertThat(alerts).extracting(AlertSummaryView::getTitle)
+                    .contains("Luxembourg City", "Esch-sur-Alzette", "Clervaux");
+        }
+    }
+
+    @Test
+    void findNearbyAlerts_boundingBoxShouldUseLocationIndex() {
+        // Without the GiST index the box prefilter is the only selective access path left
+        jdbcTemplate.execute("DROP INDEX idx_alert_geog");
+
+        assertThat(explainFindNearbyAlerts()).contains("idx_alert_location");
+    }
+
+    @Test
+    void findNearbyAlerts_radiusShouldUseGeographyIndex() {
+        jdbcTemplate.execute("DROP INDEX idx_alert_location");
+
+        assertThat(explainFindNearbyAlerts()).contains("idx_alert_geog");
+    }
+
+    // Plans the repository's own SQL over enough rows spread across the globe that an index beats
+    // walking the keyset index; the DROP INDEX in each test is rolled back with its transaction
+    private String explainFindNearbyAlerts() {
+        jdbcTemplate.update("""
+                INSERT INTO alerts (title, description, type, latitude, longitude, user_id, created_at, status, severity)
+                SELECT 'Filler', 'Filler', 'HAZARD', -80 + (n % 160), -170 + (n * 7 % 340), user_id, NOW(), 'ACTIVE', 'MEDIUM'
+                FROM generate_series(1, 5000) AS n, (SELECT user_id FROM alerts LIMIT 1) AS owner
+                """);
+        jdbcTemplate.execute("ANALYZE alerts");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String sql = Arrays.stream(AlertRepository.class.getMethods())
+                .filter(method -> method.getName().equals("findNearbyAlerts"))
+                .findFirst()
+                .orElseThrow()
+                .getAnnotation(Query.class)
+                .value();
+        GeoBoundingBox box = GeoBoundingBox.around(49.6100, 6.1290, 5.0).normalized();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("latitude", 49.6100)
+                .addValue("longitude", 6.1290)
+                .addValue("radius", 5.0)
+                .addValue("minLatitude", box.minLatitude())
+                .addValue("maxLatitude", box.maxLatitude())
+                .addValue("minLongitude", box.minLongitude())
+                .addValue("maxLongitude", box.maxLongitude())
+                .addValue("cursorCreatedAt", AlertCursor.FIRST.createdAt())
+                .addValue("cursorId", AlertCursor.FIRST.id())
+                .addValue("limit", 51);
+
+        return String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + sql, parameters, String.class));
+    }
+
+    private List<AlertSummaryView> findNearby(double latitude, double longitude, double radiusKm,
+                                   AlertCursor cursor, int limit) {
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radiusKm).normalized();
+        return alertRepository.findNearbyAlerts(
+                latitude, longitude, radiusKm,
+                box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+                cursor.createdAt(), cursor.id(), limit
+        );
+    }
+
+    private static Alert alert(String title, double latitude, double longitude, Customer user) {
+        return Alert.builder()
+                .title(title)
+                .description(title)
+                .type(Alert.AlertType.HAZARD)
+                .severity(Alert.Severity.MEDIUM)
+                .status(Alert.AlertStatus.ACTIVE)
+                .latitude(latitude)
+                .longitude(longitude)
+                .user(user)
+                .build();
+    }
+}
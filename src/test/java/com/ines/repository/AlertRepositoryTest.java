@@ -1,5 +1,8 @@
 package com.ines.repository;
 
+import com.ines.dto.AlertCursor;
+import com.ines.dto.AlertSummaryView;
+import com.ines.geo.GeoBoundingBox;
 import com.ines.model.Alert;
 import com.ines.model.Customer;
 import com.ines.model.Gender;
@@ -55,17 +58,27 @@ class AlertRepositoryTest {
         Double latitude = 40.7128;
         Double longitude = -74.0060;
         Double radius = 10.0; // 10 km
+        GeoBoundingBox box = GeoBoundingBox.around(latitude, longitude, radius);
+        AlertCursor cursor = AlertCursor.FIRST;
+        AlertSummaryView nearby1 = mock(AlertSummaryView.class);
+        AlertSummaryView nearby2 = mock(AlertSummaryView.class);
 
-        when(alertRepository.findNearbyAlerts(latitude, longitude, radius))
-                .thenReturn(Arrays.asList(mockAlert1, mockAlert2));
+        when(alertRepository.findNearbyAlerts(latitude, longitude, radius,
+                box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+                cursor.createdAt(), cursor.id(), 50))
+                .thenReturn(Arrays.asList(nearby1, nearby2));
 
         // Act
-        List<Alert> alerts = alertRepository.findNearbyAlerts(latitude, longitude, radius);
+        List<AlertSummaryView> alerts = alertRepository.findNearbyAlerts(latitude, longitude, radius,
+                box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+                cursor.createdAt(), cursor.id(), 50);
 
         // Assert
         assertThat(alerts).hasSize(2);
-        assertThat(alerts).containsExactly(mockAlert1, mockAlert2);
+        assertThat(alerts).containsExactly(nearby1, nearby2);
 
-        verify(alertRepository, times(1)).findNearbyAlerts(latitude, longitude, radius);
+        verify(alertRepository, times(1)).findNearbyAlerts(latitude, longitude, radius,
+                box.minLatitude(), box.maxLatitude(), box.minLongitude(), box.maxLongitude(),
+                cursor.createdAt(), cursor.id(), 50);
     }
 }
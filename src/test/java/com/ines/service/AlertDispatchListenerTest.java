@@ -0,0 +1,67 @@
+package com.ines.service;
+
+import com.ines.event.AlertCreatedEvent;
+import com.ines.model.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class AlertDispatchListenerTest {
+
+    private final AlertCreatedEvent event = new AlertCreatedEvent(Alert.builder().id(1L).build());
+
+    private AlertOutboxRelay relay;
+    private Queue<Runnable> submitted;
+    private AlertDispatchListener listener;
+
+    @BeforeEach
+    void setUp() {
+        relay = mock(AlertOutboxRelay.class);
+        submitted = new ArrayDeque<>();
+        listener = new AlertDispatchListener(relay, submitted::add);
+    }
+
+    @Test
+    void onAlertCreated_shouldCoalesceABurstIntoOneDrain() {
+        for (int i = 0; i < 50; i++) {
+            listener.onAlertCreated(event);
+        }
+
+        assertEquals(1, submitted.size());
+        submitted.poll().run();
+
+        verify(relay, times(1)).relayPending();
+        assertTrue(submitted.isEmpty());
+    }
+
+    @Test
+    void onAlertCreated_shouldDrainAgainForAlertsCommittedDuringADrain() {
+        doAnswer(invocation -> {
+            listener.onAlertCreated(event);
+            listener.onAlertCreated(event);
+            return null;
+        }).doNothing().when(relay).relayPending();
+        listener.onAlertCreated(event);
+
+        submitted.poll().run();
+
+        verify(relay, times(2)).relayPending();
+        assertTrue(submitted.isEmpty());
+    }
+
+    @Test
+    void onAlertCreated_shouldScheduleAgainOnceTheDrainHasFinished() {
+        listener.onAlertCreated(event);
+        submitted.poll().run();
+
+        listener.onAlertCreated(event);
+
+        assertEquals(1, submitted.size());
+    }
+}
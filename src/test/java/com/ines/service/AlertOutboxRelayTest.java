@@ -0,0 +1,91 @@
+package com.ines.service;
+
+import com.ines.controller.WebSocketController;
+import com.ines.model.Alert;
+import com.ines.model.AlertOutbox;
+import com.ines.repository.AlertOutboxRepository;
+import com.ines.repository.AlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AlertOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private AlertOutboxRepository alertOutboxRepository;
+    private AlertRepository alertRepository;
+    private WebSocketController webSocketController;
+    private AlertOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        alertOutboxRepository = mock(AlertOutboxRepository.class);
+        alertRepository = mock(AlertRepository.class);
+        webSocketController = mock(WebSocketController.class);
+        relay = new AlertOutboxRelay(
+                alertOutboxRepository,
+                alertRepository,
+                webSocketController,
+                mock(PlatformTransactionManager.class),
+                BATCH_SIZE,
+                Duration.ofMinutes(1)
+        );
+    }
+
+    @Test
+    void relayPending_shouldNotifyAndDeleteClaimedEntries() {
+        AlertOutbox entry = AlertOutbox.builder().id(10L).alertId(1L).build();
+        Alert alert = Alert.builder().id(1L).title("Alert").build();
+        when(alertOutboxRepository.claimBatch(any(), eq(BATCH_SIZE))).thenReturn(List.of(entry));
+        when(alertRepository.findAllById(List.of(1L))).thenReturn(List.of(alert));
+
+        relay.relayPending();
+
+        assertNotNull(entry.getClaimedAt());
+        verify(webSocketController).notifyNearbyUsers(alert);
+        verify(alertOutboxRepository).deleteAllByIdInBatch(List.of(10L));
+    }
+
+    @Test
+    void relayPending_shouldKeepClaimingWhileBatchesAreFull() {
+        AlertOutbox first = AlertOutbox.builder().id(10L).alertId(1L).build();
+        AlertOutbox second = AlertOutbox.builder().id(11L).alertId(2L).build();
+        when(alertOutboxRepository.claimBatch(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of());
+        when(alertRepository.findAllById(any())).thenReturn(List.of());
+
+        relay.relayPending();
+
+        verify(alertOutboxRepository, times(2)).claimBatch(any(), eq(BATCH_SIZE));
+        verify(alertOutboxRepository).deleteAllByIdInBatch(List.of(10L, 11L));
+        verifyNoInteractions(webSocketController);
+    }
+
+    @Test
+    void relayPending_shouldKeepOnlyTheEntryWhoseSendFailed() {
+        AlertOutbox delivered = AlertOutbox.builder().id(10L).alertId(1L).build();
+        AlertOutbox failed = AlertOutbox.builder().id(11L).alertId(2L).build();
+        Alert first = Alert.builder().id(1L).title("First").build();
+        Alert second = Alert.builder().id(2L).title("Second").build();
+        when(alertOutboxRepository.claimBatch(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(delivered, failed))
+                .thenReturn(List.of());
+        when(alertRepository.findAllById(any())).thenReturn(List.of(first, second));
+        doThrow(new IllegalStateException("broker down")).when(webSocketController).notifyNearbyUsers(second);
+
+        relay.relayPending();
+
+        verify(webSocketController).notifyNearbyUsers(first);
+        verify(alertOutboxRepository).deleteAllByIdInBatch(List.of(10L));
+    }
+}
@@ -1,28 +1,58 @@
 package com.ines.service;
 
-import com.ines.controller.WebSocketController;
+import com.ines.dto.AlertCursor;
 import com.ines.dto.AlertDto;
+import com.ines.dto.AlertFilter;
+import com.ines.dto.AlertImportResult;
 import com.ines.dto.AlertResponseDto;
+import com.ines.dto.AlertSummaryView;
+import com.ines.dto.CursorPage;
+import com.ines.event.AlertCreatedEvent;
+import com.ines.exception.RequestValidationException;
 import com.ines.exception.ResourceNotFoundException;
 import com.ines.mapper.CustomerDTOMapper;
 import com.ines.model.Alert;
+import com.ines.model.AlertOutbox;
 import com.ines.model.Customer;
+import com.ines.model.CustomerPrincipal;
+import com.ines.repository.AlertOutboxRepository;
 import com.ines.repository.AlertRepository;
 import com.ines.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +61,9 @@ class AlertServiceTest {
     @Mock
     private AlertRepository alertRepository;
 
+    @Mock
+    private AlertOutboxRepository alertOutboxRepository;
+
     @Mock
     private CustomerRepository customerRepository;
 
@@ -38,12 +71,25 @@ class AlertServiceTest {
     private CustomerDTOMapper customerDTOMapper;
 
     @Mock
-    private WebSocketController webSocketController;
+    private CustomerUserDetailsService customerUserDetailsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private AlertService alertService;
 
     private Alert alert;
+    private AlertSummaryView summary;
     private Customer customer;
     private AlertDto alertDto;
 
@@ -67,108 +113,290 @@ class AlertServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        summary = summaryOf(alert);
+
         alertDto = new AlertDto("Test Alert", "Description", Alert.AlertType.TRAFFIC, Alert.Severity.HIGH, 40.7128, -74.0060);
     }
 
     @Test
     void testGetAlertById_Success() {
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(alert));
+        when(alertRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
 
         AlertResponseDto response = alertService.getAlertById(1L);
 
         assertNotNull(response);
         assertEquals("Test Alert", response.getTitle());
-        verify(alertRepository, times(1)).findById(1L);
+        assertEquals("test@example.com", response.getUser().email());
+        verify(alertRepository, times(1)).findSummaryById(1L);
+        verifyNoInteractions(customerDTOMapper);
     }
 
     @Test
     void testGetAlertById_ThrowsResourceNotFoundException() {
-        when(alertRepository.findById(1L)).thenReturn(Optional.empty());
+        when(alertRepository.findSummaryById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> alertService.getAlertById(1L));
-        verify(alertRepository, times(1)).findById(1L);
+        verify(alertRepository, times(1)).findSummaryById(1L);
+    }
+
+    @Test
+    void testGetAlerts_PassesFilterAndCursor() {
+        AlertFilter filter = new AlertFilter(Alert.AlertStatus.ACTIVE, null, Alert.Severity.HIGH, null, null);
+        AlertCursor cursor = new AlertCursor(alert.getCreatedAt().plusMinutes(1), 5L);
+        when(alertRepository.findSummaryPage(Alert.AlertStatus.ACTIVE, null, Alert.Severity.HIGH, null, null,
+                cursor.createdAt(), cursor.id(), PageRequest.ofSize(11)))
+                .thenReturn(List.of(summary));
+
+        CursorPage<AlertResponseDto> page = alertService.getAlerts(filter, cursor.encode(), 10);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetAlerts_RejectsEmptyTimeRange() {
+        LocalDateTime now = LocalDateTime.now();
+        AlertFilter filter = new AlertFilter(null, null, null, now, now);
+
+        assertThrows(RequestValidationException.class, () -> alertService.getAlerts(filter, null, 10));
+        verifyNoInteractions(alertRepository);
+    }
+
+    @Test
+    void testStreamAlerts_MapsEveryRowAndClosesStream() {
+        List<String> closed = new ArrayList<>();
+        when(alertRepository.streamSummaries(null, null, null, null, null))
+                .thenReturn(Stream.of(summary, summary).onClose(() -> closed.add("closed")));
+        List<AlertResponseDto> received = new ArrayList<>();
+
+        alertService.streamAlerts(AlertFilter.NONE, received::add);
+
+        assertEquals(2, received.size());
+        assertEquals(List.of("closed"), closed);
+    }
+
+    @Test
+    void testGetUserAlertsById_ThrowsResourceNotFoundException() {
+        when(customerRepository.existsCustomerById(1)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> alertService.getUserAlerts(1));
+        verify(alertRepository, never()).findSummariesByUserId(anyInt());
+    }
+
+    @Test
+    void testGetNearbyAlerts_ReturnsNextCursorWhenMoreAlertsExist() {
+        Alert older = Alert.builder()
+                .id(0L)
+                .title("Older Alert")
+                .status(Alert.AlertStatus.ACTIVE)
+                .createdAt(alert.getCreatedAt().minusMinutes(1))
+                .build();
+        when(alertRepository.findNearbyAlerts(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(), anyLong(), eq(2)))
+                .thenReturn(List.of(summary, summaryOf(older)));
+
+        CursorPage<AlertResponseDto> page = alertService.getNearbyAlerts(40.7128, -74.0060, 5.0, null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(new AlertCursor(alert.getCreatedAt(), alert.getId()), AlertCursor.decode(page.nextCursor()));
     }
 
     @Test
-    void testGetAllAlerts() {
-        when(alertRepository.findAll()).thenReturn(List.of(alert));
+    void testGetNearbyAlerts_CapsPageSize() {
+        when(alertRepository.findNearbyAlerts(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(), anyLong(), anyInt()))
+                .thenReturn(List.of(summary));
 
-        List<AlertResponseDto> alerts = alertService.getAllAlerts();
+        CursorPage<AlertResponseDto> page = alertService.getNearbyAlerts(40.7128, -74.0060, 5.0, null, 10_000);
 
-        assertNotNull(alerts);
-        assertEquals(1, alerts.size());
-        verify(alertRepository, times(1)).findAll();
+        assertNull(page.nextCursor());
+        verify(alertRepository).findNearbyAlerts(anyDouble(), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(), anyLong(),
+                eq(AlertService.MAX_PAGE_SIZE + 1));
     }
 
     @Test
     void testCreateAlert_Success() {
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.of(customer));
+        givenReporter();
         when(alertRepository.save(any(Alert.class))).thenReturn(alert);
 
         AlertResponseDto response = alertService.createAlert(alertDto, "test@example.com");
 
         assertNotNull(response);
         assertEquals("Test Alert", response.getTitle());
-        verify(customerRepository, times(1)).findCustomerByEmail("test@example.com");
-        verify(alertRepository, times(1)).save(any(Alert.class));
-        verify(webSocketController, times(1)).notifyNearbyUsers(any(Alert.class));
+        verify(customerRepository, never()).findCustomerByEmail(any());
+        InOrder inOrder = inOrder(alertRepository, alertOutboxRepository, eventPublisher);
+        inOrder.verify(alertRepository, times(1)).save(any(Alert.class));
+        inOrder.verify(alertOutboxRepository, times(1)).save(argThat((AlertOutbox entry) -> alert.getId().equals(entry.getAlertId())));
+        inOrder.verify(eventPublisher, times(1)).publishEvent(new AlertCreatedEvent(alert));
+        assertEquals(1, meterRegistry.get("alerts.create").timer().count());
     }
 
     @Test
     void testCreateAlert_ThrowsResourceNotFoundException() {
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(customerUserDetailsService.findPrincipalByEmail("test@example.com")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> alertService.createAlert(alertDto, "test@example.com"));
-        verify(customerRepository, times(1)).findCustomerByEmail("test@example.com");
+        verifyNoInteractions(customerRepository, alertRepository);
+    }
+
+    @Test
+    void testImportAlerts_CommitsEachChunkSeparately() {
+        givenReporter();
+        when(alertRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        runTransactionCallbacks();
+        List<AlertDto> alerts = Collections.nCopies(AlertService.IMPORT_CHUNK_SIZE * 2 + 1, alertDto);
+
+        AlertImportResult result = alertService.importAlerts(alerts.iterator(), "test@example.com");
+
+        assertEquals(alerts.size(), result.imported());
+        assertNull(result.discarded());
+        assertNull(result.error());
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+        verify(alertRepository, times(3)).saveAll(any());
+        verify(alertOutboxRepository, times(3)).saveAll(any());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(eventPublisher, times(3)).publishEvent(any(AlertCreatedEvent.class));
+    }
+
+    @Test
+    void testImportAlerts_RejectedEntryKeepsCommittedChunks() {
+        givenReporter();
+        when(alertRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        runTransactionCallbacks();
+        Iterator<AlertDto> valid = Collections.nCopies(AlertService.IMPORT_CHUNK_SIZE + 10, alertDto).iterator();
+        Iterator<AlertDto> alerts = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public AlertDto next() {
+                if (!valid.hasNext()) {
+                    throw new RequestValidationException("Alert 61: Title is required");
+                }
+                return valid.next();
+            }
+        };
+
+        AlertImportResult result = alertService.importAlerts(alerts, "test@example.com");
+
+        assertEquals(AlertService.IMPORT_CHUNK_SIZE, result.imported());
+        assertEquals(11, result.discarded());
+        assertEquals("Alert 61: Title is required", result.error());
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        verify(eventPublisher, times(1)).publishEvent(any(AlertCreatedEvent.class));
+    }
+
+    @Test
+    void testImportAlerts_EmptyInputPublishesNothing() {
+        givenReporter();
+
+        AlertImportResult result = alertService.importAlerts(List.<AlertDto>of().iterator(), "test@example.com");
+
+        assertEquals(0, result.imported());
+        verifyNoInteractions(transactionTemplate, alertOutboxRepository, eventPublisher, entityManager);
+    }
+
+    private void givenReporter() {
+        when(customerUserDetailsService.findPrincipalByEmail("test@example.com"))
+                .thenReturn(Optional.of(CustomerPrincipal.from(customer)));
+        when(customerRepository.getReferenceById(customer.getId())).thenReturn(customer);
+    }
+
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
     }
 
     @Test
     void testUpdateAlert_Success() {
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.of(customer));
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(alert));
-        when(alertRepository.save(any(Alert.class))).thenReturn(alert);
+        when(alertRepository.updateIfOwner(eq(1L), eq("test@example.com"), eq("Test Alert"), eq("Description"),
+                eq("TRAFFIC"), eq(40.7128), eq(-74.0060), eq("HIGH"), any()))
+                .thenReturn(Optional.of(summary));
 
         AlertResponseDto response = alertService.updateAlert(1L, alertDto, "test@example.com");
 
         assertNotNull(response);
         assertEquals("Test Alert", response.getTitle());
-        verify(alertRepository, times(1)).findById(1L);
-        verify(alertRepository, times(1)).save(any(Alert.class));
+        verify(alertRepository, never()).findSummaryById(any());
+        verify(alertRepository, never()).existsById(any());
+        verify(alertRepository, never()).save(any(Alert.class));
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
     void testUpdateAlert_ThrowsInsufficientAuthenticationException() {
-        Customer anotherCustomer = Customer.builder().id(2).email("other@example.com").build();
-        alert.setUser(anotherCustomer);
-
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.of(customer));
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(alert));
+        when(alertRepository.updateIfOwner(eq(1L), eq("test@example.com"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(alertRepository.existsById(1L)).thenReturn(true);
 
         assertThrows(InsufficientAuthenticationException.class, () ->
                 alertService.updateAlert(1L, alertDto, "test@example.com"));
-        verify(alertRepository, times(1)).findById(1L);
+        verify(alertRepository, never()).findSummaryById(1L);
+    }
+
+    @Test
+    void testUpdateAlertStatus_ThrowsResourceNotFoundException() {
+        when(alertRepository.updateStatusIfOwner(eq(1L), eq("test@example.com"), eq("RESOLVED"), any()))
+                .thenReturn(Optional.empty());
+        when(alertRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                alertService.updateAlertStatus(1L, Alert.AlertStatus.RESOLVED, "test@example.com"));
+    }
+
+    @Test
+    void testUpdateAlertStatus_ReturnsRowFromUpdate() {
+        when(alertRepository.updateStatusIfOwner(eq(1L), eq("test@example.com"), eq("RESOLVED"), any()))
+                .thenReturn(Optional.of(summary));
+
+        AlertResponseDto response = alertService.updateAlertStatus(1L, Alert.AlertStatus.RESOLVED, "test@example.com");
+
+        assertEquals(1L, response.getId());
+        verify(alertRepository, never()).findSummaryById(any());
     }
 
     @Test
     void testDeleteAlert_Success() {
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.of(customer));
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(alert));
+        when(alertRepository.deleteIfOwner(1L, "test@example.com")).thenReturn(1);
 
         alertService.deleteAlert(1L, "test@example.com");
 
-        verify(alertRepository, times(1)).delete(alert);
+        verify(alertRepository, times(1)).deleteIfOwner(1L, "test@example.com");
+        verify(alertRepository, never()).existsById(1L);
     }
 
     @Test
     void testDeleteAlert_ThrowsInsufficientAuthenticationException() {
-        Customer anotherCustomer = Customer.builder().id(2).email("other@example.com").build();
-        alert.setUser(anotherCustomer);
-
-        when(customerRepository.findCustomerByEmail("test@example.com")).thenReturn(Optional.of(customer));
-        when(alertRepository.findById(1L)).thenReturn(Optional.of(alert));
+        when(alertRepository.deleteIfOwner(1L, "test@example.com")).thenReturn(0);
+        when(alertRepository.existsById(1L)).thenReturn(true);
 
         assertThrows(InsufficientAuthenticationException.class, () ->
                 alertService.deleteAlert(1L, "test@example.com"));
-        verify(alertRepository, times(1)).findById(1L);
+        verify(alertRepository, times(1)).existsById(1L);
+    }
+
+    private static AlertSummaryView summaryOf(Alert alert) {
+        Customer owner = alert.getUser() != null ? alert.getUser() : Customer.builder().build();
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", alert.getId());
+        values.put("title", alert.getTitle());
+        values.put("description", alert.getDescription());
+        values.put("type", alert.getType());
+        values.put("severity", alert.getSeverity());
+        values.put("status", alert.getStatus());
+        values.put("latitude", alert.getLatitude());
+        values.put("longitude", alert.getLongitude());
+        values.put("createdAt", alert.getCreatedAt());
+        values.put("updatedAt", alert.getUpdatedAt());
+        values.put("userId", owner.getId());
+        values.put("userEmail", owner.getEmail());
+        values.put("userRole", owner.getRole());
+        return new SpelAwareProxyProjectionFactory().createProjection(AlertSummaryView.class, values);
     }
 }
@@ -2,7 +2,10 @@ package com.ines.service;
 
 import com.ines.dto.CustomerDTO;
 import com.ines.dto.CustomerRegistrationRequest;
+import com.ines.dto.CustomerUpdateRequest;
+import com.ines.event.CustomerChangedEvent;
 import com.ines.exception.DuplicateResourceException;
+import com.ines.exception.RequestValidationException;
 import com.ines.exception.ResourceNotFoundException;
 import com.ines.mapper.CustomerDTOMapper;
 import com.ines.model.Customer;
@@ -13,11 +16,14 @@ import com.ines.s3.S3Service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +37,7 @@ class CustomerServiceTest {
     private PasswordEncoder passwordEncoder;
     private S3Service s3Service;
     private S3Buckets s3Buckets;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
@@ -39,7 +46,8 @@ class CustomerServiceTest {
         passwordEncoder = mock(PasswordEncoder.class);
         s3Service = mock(S3Service.class);
         s3Buckets = mock(S3Buckets.class);
-        customerService = new CustomerService(customerDao, customerDTOMapper, passwordEncoder, s3Service, s3Buckets);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        customerService = new CustomerService(customerDao, customerDTOMapper, passwordEncoder, s3Service, s3Buckets, eventPublisher, Runnable::run);
     }
 
     @Test
@@ -83,20 +91,104 @@ class CustomerServiceTest {
         assertThrows(DuplicateResourceException.class, () -> customerService.addCustomer(request));
     }
 
+    @Test
+    void addCustomers_shouldCheckEmailsOnceAndInsertAllTogether() {
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("a", "a@example.com", "password", 25, Gender.MALE),
+                new CustomerRegistrationRequest("b", "b@example.com", "password", 31, Gender.FEMALE)
+        );
+        when(customerDao.selectExistingEmails(Set.of("a@example.com", "b@example.com"))).thenReturn(List.of());
+        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+
+        int registered = customerService.addCustomers(requests);
+
+        assertEquals(2, registered);
+        verify(customerDao, never()).existsCustomerWithEmail(anyString());
+        verify(customerDao, never()).insertCustomer(any());
+        verify(customerDao).insertCustomers(argThat(customers -> customers.size() == 2
+                && customers.stream().allMatch(customer -> "encodedPassword".equals(customer.getPassword()))));
+    }
+
+    @Test
+    void addCustomers_shouldInsertNothing_whenAnyEmailIsTaken() {
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("a", "a@example.com", "password", 25, Gender.MALE),
+                new CustomerRegistrationRequest("b", "b@example.com", "password", 31, Gender.FEMALE)
+        );
+        when(customerDao.selectExistingEmails(anySet())).thenReturn(List.of("b@example.com"));
+
+        assertThrows(DuplicateResourceException.class, () -> customerService.addCustomers(requests));
+        verify(customerDao, never()).insertCustomers(any());
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void addCustomers_shouldRejectRepeatedEmailWithinBatch() {
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("a", "a@example.com", "password", 25, Gender.MALE),
+                new CustomerRegistrationRequest("a again", "a@example.com", "password", 25, Gender.MALE)
+        );
+
+        assertThrows(DuplicateResourceException.class, () -> customerService.addCustomers(requests));
+        verifyNoInteractions(customerDao);
+    }
+
+    @Test
+    void addCustomers_shouldRejectBlankPasswordBeforeHashing() {
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("a", "a@example.com", "password", 25, Gender.MALE),
+                new CustomerRegistrationRequest("b", "b@example.com", " ", 31, Gender.FEMALE)
+        );
+
+        RequestValidationException e = assertThrows(RequestValidationException.class,
+                () -> customerService.addCustomers(requests));
+        assertEquals("customer 2: password is required", e.getMessage());
+        verifyNoInteractions(customerDao, passwordEncoder);
+    }
+
+    @Test
+    void addCustomers_shouldRethrowHashingFailureUnwrapped() {
+        List<CustomerRegistrationRequest> requests = List.of(
+                new CustomerRegistrationRequest("a", "a@example.com", "password", 25, Gender.MALE)
+        );
+        when(customerDao.selectExistingEmails(anySet())).thenReturn(List.of());
+        when(passwordEncoder.encode("password")).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+        customerService = new CustomerService(customerDao, customerDTOMapper, passwordEncoder, s3Service, s3Buckets,
+                eventPublisher, task -> new Thread(task).start());
+
+        assertThrows(IllegalArgumentException.class, () -> customerService.addCustomers(requests));
+        verify(customerDao, never()).insertCustomers(any());
+    }
+
     @Test
     void deleteCustomerById_shouldCallDelete_whenCustomerExists() {
         int customerId = 1;
-        when(customerDao.existsCustomerById(customerId)).thenReturn(true);
+        Customer customer = new Customer(customerId, "Alex", "alex@example.com", "password", 25, Gender.MALE);
+        when(customerDao.selectCustomerById(customerId)).thenReturn(Optional.of(customer));
 
         customerService.deleteCustomerById(customerId);
 
         verify(customerDao).deleteCustomerById(customerId);
+        verify(eventPublisher).publishEvent(new CustomerChangedEvent(customerId, "alex@example.com"));
+    }
+
+    @Test
+    void updateCustomer_shouldPublishChangeWithPreviousEmail() {
+        int customerId = 1;
+        Customer customer = new Customer(customerId, "Alex", "alex@example.com", "password", 25, Gender.MALE);
+        when(customerDao.selectCustomerById(customerId)).thenReturn(Optional.of(customer));
+        when(customerDao.existsCustomerWithEmail("new@example.com")).thenReturn(false);
+
+        customerService.updateCustomer(customerId, new CustomerUpdateRequest(null, "new@example.com", null));
+
+        verify(customerDao).updateCustomer(customer);
+        verify(eventPublisher).publishEvent(new CustomerChangedEvent(customerId, "alex@example.com"));
     }
 
     @Test
     void deleteCustomerById_shouldThrowResourceNotFoundException_whenCustomerDoesNotExist() {
         int customerId = 1;
-        when(customerDao.existsCustomerById(customerId)).thenReturn(false);
+        when(customerDao.selectCustomerById(customerId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.deleteCustomerById(customerId));
     }
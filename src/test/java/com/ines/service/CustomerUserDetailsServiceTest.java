@@ -0,0 +1,102 @@
+package com.ines.service;
+
+import com.ines.event.CustomerChangedEvent;
+import com.ines.model.Customer;
+import com.ines.model.CustomerPrincipal;
+import com.ines.model.Gender;
+import com.ines.repository.CustomerDao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomerUserDetailsServiceTest {
+
+    private static final String EMAIL = "marie.weber@ines.com";
+
+    private CustomerUserDetailsService userDetailsService;
+    private CustomerDao customerDao;
+
+    @BeforeEach
+    void setUp() {
+        customerDao = mock(CustomerDao.class);
+        userDetailsService = new CustomerUserDetailsService(
+                customerDao, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void loadPrincipalByUsername_shouldServeSecondLookupFromCache() {
+        when(customerDao.selectUserByEmail(EMAIL)).thenReturn(Optional.of(customer(Customer.Role.USER)));
+
+        CustomerPrincipal first = userDetailsService.loadPrincipalByUsername(EMAIL);
+        CustomerPrincipal second = userDetailsService.loadPrincipalByUsername(EMAIL);
+
+        assertSame(first, second);
+        verify(customerDao, times(1)).selectUserByEmail(EMAIL);
+    }
+
+    @Test
+    void onCustomerChanged_shouldForceNextLookupToReload() {
+        when(customerDao.selectUserByEmail(EMAIL))
+                .thenReturn(Optional.of(customer(Customer.Role.USER)))
+                .thenReturn(Optional.of(customer(Customer.Role.ADMIN)));
+        userDetailsService.loadPrincipalByUsername(EMAIL);
+
+        userDetailsService.onCustomerChanged(new CustomerChangedEvent(1, EMAIL));
+        CustomerPrincipal reloaded = userDetailsService.loadPrincipalByUsername(EMAIL);
+
+        assertEquals(Customer.Role.ADMIN, reloaded.role());
+        verify(customerDao, times(2)).selectUserByEmail(EMAIL);
+    }
+
+    @Test
+    void onCustomerChanged_shouldKeepOtherCustomersCached() {
+        String other = "luc.schmit@ines.com";
+        when(customerDao.selectUserByEmail(other)).thenReturn(Optional.of(customer(Customer.Role.USER)));
+        userDetailsService.loadPrincipalByUsername(other);
+
+        userDetailsService.onCustomerChanged(new CustomerChangedEvent(1, EMAIL));
+        userDetailsService.loadPrincipalByUsername(other);
+
+        verify(customerDao, times(1)).selectUserByEmail(other);
+    }
+
+    @Test
+    void loadPrincipalByUsername_shouldNotCacheUnknownEmail() {
+        when(customerDao.selectUserByEmail(EMAIL))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(customer(Customer.Role.USER)));
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadPrincipalByUsername(EMAIL));
+
+        assertEquals(EMAIL, userDetailsService.loadPrincipalByUsername(EMAIL).email());
+    }
+
+    @Test
+    void loadUserByUsername_shouldAlwaysReadTheCustomer() {
+        when(customerDao.selectUserByEmail(EMAIL)).thenReturn(Optional.of(customer(Customer.Role.USER)));
+
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        verify(customerDao, times(2)).selectUserByEmail(EMAIL);
+    }
+
+    private static Customer customer(Customer.Role role) {
+        return Customer.builder()
+                .id(1)
+                .name("Marie Weber")
+                .email(EMAIL)
+                .password("hash")
+                .age(34)
+                .gender(Gender.FEMALE)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.ines.service;
+
+import com.ines.model.GeoLocation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class LocationIngestionServiceTest {
+
+    private LocationRegistry locationRegistry;
+    private MeterRegistry meterRegistry;
+    private LocationIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        locationRegistry = mock(LocationRegistry.class);
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new LocationIngestionService(locationRegistry, 10, Duration.ofMinutes(2), meterRegistry);
+    }
+
+    @Test
+    void flush_shouldApplyOnlyLatestPositionOfBurst() {
+        // Arrange
+        ingestionService.submit("user", new GeoLocation(49.6000, 6.1300));
+        ingestionService.submit("user", new GeoLocation(49.6010, 6.1300));
+        ingestionService.submit("user", new GeoLocation(49.6020, 6.1300));
+
+        // Act
+        ingestionService.flush();
+
+        // Assert
+        verify(locationRegistry, times(1))
+                .updateUserLocations(Map.of("user", new GeoLocation(49.6020, 6.1300)));
+    }
+
+    @Test
+    void submit_shouldDropMovesShorterThanMinimumDistance() {
+        // Arrange
+        ingestionService.submit("user", new GeoLocation(49.6000, 6.1300));
+        ingestionService.flush();
+
+        // Act
+        ingestionService.submit("user", new GeoLocation(49.60003, 6.1300)); // ~3 m
+        ingestionService.flush();
+
+        // Assert
+        verify(locationRegistry, times(1)).updateUserLocations(anyMap());
+        assertThat(meterRegistry.get("location.updates").tag("outcome", "dropped").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("location.updates").tag("outcome", "applied").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void flush_shouldSkipRegistryWhenNothingIsPending() {
+        // Act
+        ingestionService.flush();
+
+        // Assert
+        verifyNoInteractions(locationRegistry);
+    }
+
+    @Test
+    void submit_shouldReapplyStationaryUserAfterRefreshInterval() {
+        // Arrange
+        ingestionService = new LocationIngestionService(locationRegistry, 10, Duration.ZERO, meterRegistry);
+        ingestionService.submit("user", new GeoLocation(49.6000, 6.1300));
+        ingestionService.flush();
+
+        // Act
+        ingestionService.submit("user", new GeoLocation(49.6000, 6.1300));
+        ingestionService.flush();
+
+        // Assert
+        verify(locationRegistry, times(2)).updateUserLocations(anyMap());
+    }
+
+    @Test
+    void submit_shouldRejectPingsWithMissingOrOutOfRangeCoordinates() {
+        // Act
+        ingestionService.submit("user", new GeoLocation(null, 6.1300));
+        ingestionService.submit("user", new GeoLocation(49.6000, null));
+        ingestionService.submit("user", new GeoLocation(91.0, 6.1300));
+        ingestionService.submit("user", new GeoLocation(49.6000, -180.5));
+        ingestionService.submit("user", null);
+        ingestionService.flush();
+
+        // Assert
+        verifyNoInteractions(locationRegistry);
+        assertThat(meterRegistry.get("location.updates").tag("outcome", "rejected").counter().count())
+                .isEqualTo(5);
+    }
+}
@@ -4,8 +4,10 @@ import com.ines.model.GeoLocation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -47,6 +49,22 @@ class LocationTrackingServiceTest {
         assertTrue(nearbyUsers.isEmpty());
     }
 
+    @Test
+    void evictIdleLongerThan_shouldDropUsersNotSeenWithinTtl() {
+        // Arrange
+        locationTrackingService.updateUserLocation("idle", new GeoLocation(40.7128, -74.0060));
+
+        // Act
+        Set<String> kept = locationTrackingService.evictIdleLongerThan(Duration.ofMinutes(10));
+        Set<String> evicted = locationTrackingService.evictIdleLongerThan(Duration.ZERO.minusSeconds(1));
+
+        // Assert
+        assertTrue(kept.isEmpty());
+        assertEquals(Set.of("idle"), evicted);
+        assertEquals(0, locationTrackingService.trackedUsers());
+        assertTrue(locationTrackingService.getNearbyUsers(40.7128, -74.0060, 1).isEmpty());
+    }
+
     @Test
     void calculateDistance_shouldReturnCorrectDistance() {
         // Arrange